@@ -8,8 +8,13 @@ import com.vaadin.flow.component.grid.GridSortOrder;
 import com.vaadin.flow.component.grid.editor.Editor;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.component.textfield.TextFieldVariant;
 import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
+import com.vaadin.flow.data.provider.Query;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
+import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.shared.Registration;
 import io.rocketbase.commons.api.AppUserApi;
 import io.rocketbase.commons.api.ValidationApi;
 import io.rocketbase.commons.dto.appuser.AppUserRead;
@@ -19,27 +24,32 @@ import io.rocketbase.commons.dto.appuser.QueryAppUser;
 import io.rocketbase.commons.model.AppUserToken;
 import io.rocketbase.commons.vaadin.component.ButtonBar;
 import io.rocketbase.commons.vaadin.component.Buttons;
+import io.rocketbase.commons.vaadin.component.LazyContent;
 import io.rocketbase.commons.vaadin.component.Notifications;
+import io.rocketbase.commons.vaadin.data.AdaptivePageableFetch;
+import io.rocketbase.commons.vaadin.data.EntityChangeBroadcaster;
 import io.rocketbase.commons.vaadin.data.PageableDataProvider;
+import io.rocketbase.commons.vaadin.renderer.ActionRenderer;
 import io.rocketbase.commons.vaadin.renderer.BooleanRenderer;
-import io.rocketbase.commons.vaadin.renderer.InstantRenderer;
+import io.rocketbase.commons.vaadin.renderer.ClientInstantRenderer;
 import lombok.Setter;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.util.Pair;
-import org.vaadin.firitin.components.button.VButton;
+import org.springframework.util.StringUtils;
 import org.vaadin.firitin.components.checkbox.VCheckBox;
 import org.vaadin.firitin.components.html.VImage;
 import org.vaadin.firitin.components.html.VLabel;
 import org.vaadin.firitin.components.textfield.VTextField;
 
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.time.format.FormatStyle;
+import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public class UserGrid extends Grid<AppUserRead> {
 
-    private static DateTimeFormatter DATE_TIME_SHORT_FORMAT = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT).withZone(ZoneId.systemDefault());
+    private static final int SEARCH_DEBOUNCE_MILLIS = 300;
 
     private final AppUserApi api;
     private final ValidationApi validationApi;
@@ -53,6 +63,23 @@ public class UserGrid extends Grid<AppUserRead> {
 
     private Consumer<Pair<AppUserToken, AppUserResetPassword>> resetPasswordConsumer;
 
+    private final ConfigurableFilterDataProvider<AppUserRead, Void, QueryAppUser> dataProvider;
+
+    /**
+     * each call to the rest api has a high fixed cost - merges vaadin's pages into larger calls, dropped on each refresh of the dataProvider
+     */
+    private final AdaptivePageableFetch<AppUserRead, QueryAppUser> fetch;
+
+    private String searchTerm;
+
+    private TextField searchField;
+
+    private Dialog resetPasswordDialog;
+
+    private VLabel resetPasswordHeadline;
+
+    private AppUserRead resetPasswordUser;
+
     public UserGrid(AppUserApi api) {
         this(api, null, null, null);
     }
@@ -61,6 +88,9 @@ public class UserGrid extends Grid<AppUserRead> {
         this.api = api;
         this.validationApi = validationApi;
         this.resetPasswordConsumer = resetPasswordConsumer;
+        this.fetch = PageableDataProvider.fetchAdaptive("userGrid", this::find);
+        this.dataProvider = fetch.toDataProvider(PageableDataProvider.count("userGrid", this::find), AppUserRead::getId)
+                .withConfigurableFilter();
 
         addColumn(new ComponentRenderer<>(v -> new VImage(v.getAvatar(), "avatar")
                 .withClassName("app-bar__avatar")))
@@ -94,14 +124,14 @@ public class UserGrid extends Grid<AppUserRead> {
                 .setSortProperty("email")
                 .setAutoWidth(true);
 
-        addColumn(new InstantRenderer<>(AppUserRead::getCreated, DATE_TIME_SHORT_FORMAT))
+        addColumn(ClientInstantRenderer.create(AppUserRead::getCreated))
                 .setHeader(getTranslation("user.created"))
                 .setSortProperty("created")
                 .setWidth("150px")
                 .setFlexGrow(0)
                 .setAutoWidth(false);
 
-        addColumn(new InstantRenderer<>(AppUserRead::getLastLogin, DATE_TIME_SHORT_FORMAT))
+        addColumn(ClientInstantRenderer.create(AppUserRead::getLastLogin))
                 .setHeader(getTranslation("user.lastLogin"))
                 .setSortProperty("lastLogin")
                 .setWidth("150px")
@@ -140,27 +170,25 @@ public class UserGrid extends Grid<AppUserRead> {
                     .bind(AppUserRead::isEnabled, AppUserRead::setEnabled);
 
 
-            addColumn(new ComponentRenderer<>(v -> {
-                ButtonBar buttonBar = new ButtonBar();
-                if (resetPasswordEnabled) {
-                    buttonBar.addButton(new VButton(VaadinIcon.KEY.create(), e -> {
-                        if (editor.isOpen()) {
-                            editor.cancel();
-                        }
-                        resetPasswordDialog(v);
-                    }));
-                }
-                if (updateUserConsumer != null) {
-                    buttonBar.addButton(new VButton(VaadinIcon.PENCIL.create(), e -> {
-                        if (editor.isOpen()) {
-                            editor.cancel();
-                        }
-                        editor.editItem(v);
-                        firstName.focus();
-                    }));
-                }
-                return buttonBar;
-            }))
+            ActionRenderer<AppUserRead> actions = ActionRenderer.create();
+            if (resetPasswordEnabled) {
+                actions.withAction(VaadinIcon.KEY, getTranslation("resetPassword"), v -> {
+                    if (editor.isOpen()) {
+                        editor.cancel();
+                    }
+                    resetPasswordDialog(v);
+                });
+            }
+            if (updateUserConsumer != null) {
+                actions.withAction(Buttons.ButtonType.EDIT, v -> {
+                    if (editor.isOpen()) {
+                        editor.cancel();
+                    }
+                    editor.editItem(v);
+                    firstName.focus();
+                });
+            }
+            addColumn(actions.build())
                     .setEditorComponent(new ButtonBar()
                             .withButton(Buttons.save(true, () -> editor.save()))
                             .withButton(Buttons.cancel(true, () -> editor.cancel()))
@@ -172,22 +200,97 @@ public class UserGrid extends Grid<AppUserRead> {
     }
 
     private void resetPasswordDialog(AppUserRead user) {
-        Dialog dialog = new Dialog(new VLabel(getTranslation("resetUserPassword", user.getDisplayName())).withClassName("font-size-xxl"));
-
-        Consumer<AppUserResetPassword> consumer = (r) -> {
-            resetPasswordConsumer.accept(Pair.of(user, r));
-            dialog.close();
-            Notifications.saved();
-            reload();
-        };
-
-        dialog.add(new UserResetPasswordForm(validationApi, consumer));
-        dialog.setWidth("700px");
-        dialog.open();
+        resetPasswordUser = user;
+        if (resetPasswordDialog == null) {
+            resetPasswordHeadline = new VLabel(getTranslation("resetUserPassword", user.getDisplayName())).withClassName("font-size-xxl");
+            resetPasswordDialog = new Dialog(resetPasswordHeadline);
+            resetPasswordDialog.setWidth("700px");
+            // form gets built on first use and reused for each following user
+            LazyContent.bind(resetPasswordDialog, () -> new UserResetPasswordForm(validationApi, this::resetPassword), false);
+            resetPasswordDialog.addOpenedChangeListener(e -> {
+                if (!e.isOpened()) {
+                    resetPasswordDialog.getChildren()
+                            .filter(UserResetPasswordForm.class::isInstance)
+                            .forEach(c -> ((UserResetPasswordForm) c).clear());
+                }
+            });
+        } else {
+            resetPasswordHeadline.setText(getTranslation("resetUserPassword", user.getDisplayName()));
+        }
+        resetPasswordDialog.open();
+    }
+
+    private void resetPassword(AppUserResetPassword request) {
+        resetPasswordConsumer.accept(Pair.of(resetPasswordUser, request));
+        resetPasswordDialog.close();
+        Notifications.saved();
+        reload();
+    }
+
+    /**
+     * search field that debounces the input and pushes the term as freetext into the filter of the grid<br>
+     * needs to get placed within the layout by the caller (for example within a FilterBar)
+     */
+    public TextField getSearchField() {
+        if (searchField == null) {
+            searchField = new VTextField()
+                    .withClearButtonVisible(true)
+                    .withThemeVariants(TextFieldVariant.LUMO_SMALL)
+                    .withValueChangeMode(ValueChangeMode.LAZY)
+                    .withValueChangeTimeout(SEARCH_DEBOUNCE_MILLIS)
+                    .withValueChangeListener(e -> setSearchTerm(e.getValue()));
+            searchField.setPlaceholder(getTranslation("searchPlaceholder"));
+            searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
+        }
+        return searchField;
+    }
+
+    public void setSearchTerm(String term) {
+        String trimmed = StringUtils.hasText(term) ? term.trim() : null;
+        if (Objects.equals(searchTerm, trimmed)) {
+            return;
+        }
+        searchTerm = trimmed;
+        if (getDataProvider() == dataProvider) {
+            applyFilter();
+        }
+    }
+
+    /**
+     * refreshes the row of a shown user that got changed (EntityChangedEvent of AppUserRead with the user id)<br>
+     * deleted users and events without id reload the whole grid
+     */
+    public Registration registerLiveUpdates(EntityChangeBroadcaster broadcaster) {
+        // the broadcaster is application-scoped - the loader and fallback mustn't capture this grid
+        AppUserApi userApi = api;
+        return broadcaster.register(this, AppUserRead.class, AppUserRead::getId, id -> userApi.findOne(String.valueOf(id)).orElse(null))
+                .withFallback(grid -> ((UserGrid) grid).reload());
     }
 
     public void reload() {
-        setItems(PageableDataProvider.fetch((query, pageable) -> api.find(filterSupplier != null ? filterSupplier.get() : null, pageable).toPage()),
-                PageableDataProvider.count((query, pageable) -> api.find(filterSupplier != null ? filterSupplier.get() : null, pageable).toPage()));
+        if (getDataProvider() != dataProvider) {
+            setItems(dataProvider);
+        }
+        applyFilter();
+    }
+
+    /**
+     * pushes a new filter instance into the dataProvider - a copy of the filter of the filterSupplier with the search term
+     * as freetext (when set), the caller's filter never gets modified
+     */
+    protected void applyFilter() {
+        QueryAppUser filter = QueryAppUser.builder().build();
+        QueryAppUser callerFilter = filterSupplier != null ? filterSupplier.get() : null;
+        if (callerFilter != null) {
+            BeanUtils.copyProperties(callerFilter, filter);
+        }
+        if (searchTerm != null) {
+            filter.setFreetext(searchTerm);
+        }
+        dataProvider.setFilter(filter);
+    }
+
+    protected Page<AppUserRead> find(Query<AppUserRead, QueryAppUser> query, Pageable pageable) {
+        return api.find(query.getFilter().orElse(null), pageable).toPage();
     }
 }
@@ -1,5 +1,6 @@
 package io.rocketbase.commons.auth.ui;
 
+import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Composite;
 import com.vaadin.flow.component.accordion.Accordion;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -21,6 +22,7 @@ import io.rocketbase.commons.dto.validation.PasswordErrorCodes;
 import io.rocketbase.commons.dto.validation.ValidationResponse;
 import io.rocketbase.commons.model.AppUserToken;
 import io.rocketbase.commons.util.Nulls;
+import io.rocketbase.commons.vaadin.component.LazyContent;
 import io.rocketbase.commons.vaadin.component.Notifications;
 import org.vaadin.firitin.components.button.VButton;
 import org.vaadin.firitin.components.formlayout.VFormLayout;
@@ -57,28 +59,61 @@ public class UserProfileForm extends Composite<Accordion> {
         this.currentUser = currentUser;
         this.updateConsumer = updateConsumer;
         this.passwordChangeConsumer = passwordChangeConsumer;
+    }
 
-        initForms();
-        bind();
+    /**
+     * panels get built on first open - the password binder with its validation only when the user wants to change it
+     */
+    @Override
+    protected Accordion initContent() {
+        Accordion accordion = new Accordion();
+        LazyContent.addPanel(accordion, getTranslation("user.updateProfile"), this::createProfilePanel, false);
+        LazyContent.addPanel(accordion, getTranslation("user.changePassword"), this::createPasswordPanel, false);
+        accordion.open(0);
+        return accordion;
     }
 
-    private void initForms() {
+    private Component createProfilePanel() {
         firstName = new VTextField().withFullWidth();
         lastName = new VTextField().withFullWidth();
 
-        currentPassword = new VPasswordField().withFullWidth();
-        newPassword = new VPasswordField().withFullWidth();
-        newPasswordRepeat = new VPasswordField().withFullWidth();
-    }
-
-    private void bind() {
         updateProfileBinder = new Binder<>();
-
         updateProfileBinder.forField(firstName)
                 .bind(UpdateProfileRequest::getFirstName, UpdateProfileRequest::setFirstName);
         updateProfileBinder.forField(lastName)
                 .bind(UpdateProfileRequest::getLastName, UpdateProfileRequest::setLastName);
 
+        FormLayout profileForm = new VFormLayout()
+                .withResponsiveSteps(new FormLayout.ResponsiveStep("0", 1, FormLayout.ResponsiveStep.LabelsPosition.ASIDE))
+                .withFormItem(firstName, getTranslation("user.firstName"), 1)
+                .withFormItem(lastName, getTranslation("user.lastName"), 1);
+
+        updateProfileBinder.readBean(UpdateProfileRequest.builder()
+                .firstName(currentUser.get().getFirstName())
+                .lastName(currentUser.get().getLastName())
+                .build());
+
+        return new VVerticalLayout()
+                .withComponent(profileForm)
+                .withComponent(new VButton(getTranslation("user.updateProfile"), VaadinIcon.USER_CARD.create(), e -> {
+                    UpdateProfileRequest request = UpdateProfileRequest.builder()
+                            .avatar(currentUser.get().getAvatar())
+                            .keyValues(new HashMap<>())
+                            .build();
+                    try {
+                        updateProfileBinder.writeBean(request);
+                        updateConsumer.accept(request);
+                    } catch (ValidationException ve) {
+                        Notifications.validationError();
+                    }
+                }).withThemeVariants(ButtonVariant.LUMO_PRIMARY), FlexComponent.Alignment.END);
+    }
+
+    private Component createPasswordPanel() {
+        currentPassword = new VPasswordField().withFullWidth();
+        newPassword = new VPasswordField().withFullWidth();
+        newPasswordRepeat = new VPasswordField().withFullWidth();
+
         passwordChangeBinder = new Binder<>();
         passwordChangeBinder.forField(currentPassword)
                 .asRequired()
@@ -102,36 +137,6 @@ public class UserProfileForm extends Composite<Accordion> {
                         ValidationResult.ok() :
                         ValidationResult.error(getTranslation("notTheSamePassword")))
                 .bind(PasswordChangeRequestWithRepeat::getPasswordRepeat, PasswordChangeRequestWithRepeat::setPasswordRepeat);
-    }
-
-    @Override
-    protected Accordion initContent() {
-        Accordion accordion = new Accordion();
-        FormLayout profileForm = new VFormLayout()
-                .withResponsiveSteps(new FormLayout.ResponsiveStep("0", 1, FormLayout.ResponsiveStep.LabelsPosition.ASIDE))
-                .withFormItem(firstName, getTranslation("user.firstName"), 1)
-                .withFormItem(lastName, getTranslation("user.lastName"), 1);
-
-        updateProfileBinder.readBean(UpdateProfileRequest.builder()
-                .firstName(currentUser.get().getFirstName())
-                .lastName(currentUser.get().getLastName())
-                .build());
-
-        accordion.add(getTranslation("user.updateProfile"), new VVerticalLayout()
-                .withComponent(profileForm)
-                .withComponent(new VButton(getTranslation("user.updateProfile"), VaadinIcon.USER_CARD.create(), e -> {
-                    UpdateProfileRequest request = UpdateProfileRequest.builder()
-                            .avatar(currentUser.get().getAvatar())
-                            .keyValues(new HashMap<>())
-                            .build();
-                    try {
-                        updateProfileBinder.writeBean(request);
-                        updateConsumer.accept(request);
-                    } catch (ValidationException ve) {
-                        Notifications.validationError();
-                    }
-                }).withThemeVariants(ButtonVariant.LUMO_PRIMARY), FlexComponent.Alignment.END)
-        );
 
         FormLayout passwordForm = new VFormLayout()
                 .withResponsiveSteps(new FormLayout.ResponsiveStep("0", 1, FormLayout.ResponsiveStep.LabelsPosition.ASIDE))
@@ -139,7 +144,7 @@ public class UserProfileForm extends Composite<Accordion> {
                 .withFormItem(newPassword, getTranslation("user.newPassword"), 1)
                 .withFormItem(newPasswordRepeat, getTranslation("user.passwordRepeat"), 1);
 
-        accordion.add(getTranslation("user.changePassword"), new VVerticalLayout()
+        return new VVerticalLayout()
                 .withComponent(passwordForm)
                 .withComponent(new VButton(getTranslation("user.changePassword"), VaadinIcon.KEY.create(), e -> {
                     PasswordChangeRequestWithRepeat request = new PasswordChangeRequestWithRepeat();
@@ -149,9 +154,7 @@ public class UserProfileForm extends Composite<Accordion> {
                     } catch (ValidationException ve) {
                         Notifications.validationError();
                     }
-                }).withThemeVariants(ButtonVariant.LUMO_ERROR), FlexComponent.Alignment.END));
-        accordion.open(0);
-        return accordion;
+                }).withThemeVariants(ButtonVariant.LUMO_ERROR), FlexComponent.Alignment.END);
     }
 
 }
@@ -75,6 +75,13 @@ public class UserResetPasswordForm extends Composite<VerticalLayout> {
                 .bind(AppUserResetPasswordWithRepeat::getPasswordRepeat, AppUserResetPasswordWithRepeat::setPasswordRepeat);
     }
 
+    /**
+     * resets the entered passwords - used when the form gets reused for another user
+     */
+    public void clear() {
+        binder.readBean(null);
+    }
+
     @Override
     protected VerticalLayout initContent() {
         VFormLayout form = new VFormLayout()
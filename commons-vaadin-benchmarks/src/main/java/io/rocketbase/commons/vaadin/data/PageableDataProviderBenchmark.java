@@ -0,0 +1,84 @@
+package io.rocketbase.commons.vaadin.data;
+
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * translation of vaadin queries into spring pageables against an in-memory backend
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageableDataProviderBenchmark {
+
+    private Query<String, Void> unsortedQuery;
+    private Query<String, Void> sortedQuery;
+    private List<QuerySortOrder> defaultSort;
+
+    private CallbackDataProvider.FetchCallback<String, Void> fetch;
+    private CallbackDataProvider.CountCallback<String, Void> count;
+
+    @Setup
+    public void setup() {
+        List<String> content = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            content.add("row-" + i);
+        }
+
+        defaultSort = QuerySortOrder.asc("lastName").thenAsc("firstName").build();
+        unsortedQuery = new Query<>(100, 50, Collections.emptyList(), null, null);
+        sortedQuery = new Query<>(100, 50, Arrays.asList(new QuerySortOrder("created", SortDirection.DESCENDING),
+                new QuerySortOrder("username", SortDirection.ASCENDING)), null, null);
+
+        PageableDataProvider.FetchPagableApi<String, Void> fetchApi = new PageableDataProvider.FetchPagableApi<String, Void>() {
+            @Override
+            public Page<String> fetchFromBackEnd(Query<String, Void> query, Pageable pageable) {
+                return new PageImpl<>(content, pageable, 10_000);
+            }
+
+            @Override
+            public List<QuerySortOrder> getDefaultSortOrders() {
+                return defaultSort;
+            }
+        };
+        fetch = PageableDataProvider.fetch(fetchApi);
+        count = PageableDataProvider.count((query, pageable) -> new PageImpl<>(Collections.emptyList(), pageable, 10_000));
+    }
+
+    @Benchmark
+    public Sort createSpringSortDefault() {
+        return PageableDataProvider.createSpringSort(unsortedQuery, defaultSort);
+    }
+
+    @Benchmark
+    public Sort createSpringSortQuery() {
+        return PageableDataProvider.createSpringSort(sortedQuery, defaultSort);
+    }
+
+    @Benchmark
+    public void fetch(Blackhole blackhole) {
+        fetch.fetch(sortedQuery).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public int count() {
+        return count.count(unsortedQuery);
+    }
+}
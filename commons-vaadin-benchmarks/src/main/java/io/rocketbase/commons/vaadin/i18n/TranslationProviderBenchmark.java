@@ -0,0 +1,42 @@
+package io.rocketbase.commons.vaadin.i18n;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * lookups within the bundled i18n properties of commons-vaadin-core
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranslationProviderBenchmark {
+
+    private TranslationProvider translationProvider;
+
+    @Setup
+    public void setup() {
+        translationProvider = new TranslationProvider(new DefaultResourceLoader());
+        translationProvider.afterPropertiesSet();
+    }
+
+    @Benchmark
+    public String hit() {
+        return translationProvider.getTranslation("buttonSave", Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public String hitWithParam() {
+        return translationProvider.getTranslation("totalCount", Locale.ENGLISH, 123456);
+    }
+
+    @Benchmark
+    public String miss() {
+        return translationProvider.getTranslation("notExistingKey", Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,48 @@
+package io.rocketbase.commons.vaadin.renderer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * server side formatting of instants as done per cell by the InstantRenderer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstantRendererBenchmark {
+
+    private InstantRenderer<Instant> localizedRenderer;
+    private InstantRenderer<Instant> patternRenderer;
+
+    private Instant instant;
+
+    @Setup
+    public void setup() {
+        localizedRenderer = new InstantRenderer<>(v -> v, DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT).withZone(ZoneId.of("Europe/Berlin")));
+        patternRenderer = new InstantRenderer<>(v -> v, "yyyy-MM-dd HH:mm");
+        instant = Instant.parse("2022-03-24T10:15:30.00Z");
+    }
+
+    @Benchmark
+    public String localized() {
+        return localizedRenderer.getFormattedValue(instant);
+    }
+
+    @Benchmark
+    public String pattern() {
+        return patternRenderer.getFormattedValue(instant);
+    }
+
+    @Benchmark
+    public String nullValue() {
+        return localizedRenderer.getFormattedValue(null);
+    }
+}
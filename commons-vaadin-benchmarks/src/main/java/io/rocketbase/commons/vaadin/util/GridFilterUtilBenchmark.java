@@ -0,0 +1,89 @@
+package io.rocketbase.commons.vaadin.util;
+
+import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.textfield.NumberField;
+import com.vaadin.flow.component.textfield.TextField;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * filtering of a ListDataProvider grid via the text and number filter components
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class GridFilterUtilBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private TextField textField;
+    private NumberField numberField;
+
+    private int invocation;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Row {
+        private final String name;
+        private final Integer amount;
+    }
+
+    @Setup
+    public void setup() {
+        List<Row> items = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            items.add(new Row("name-" + Integer.toHexString(i * 31), i % 1000));
+        }
+
+        Grid<Row> grid = new Grid<>();
+        grid.setItems(items);
+        Grid.Column<Row> name = grid.addColumn(Row::getName);
+        Grid.Column<Row> amount = grid.addColumn(Row::getAmount);
+
+        GridFilterUtil<Row> filterUtil = new GridFilterUtil<>(grid);
+        filterUtil.addTextFilter(name, Row::getName);
+        filterUtil.addNumberFilter(amount, Row::getAmount);
+
+        // benchmark lives in the same package to reach the filter components
+        for (HasValue component : filterUtil.filterComponents) {
+            if (component instanceof TextField) {
+                textField = (TextField) component;
+            } else if (component instanceof NumberField) {
+                numberField = (NumberField) component;
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        textField.clear();
+        numberField.clear();
+    }
+
+    /**
+     * alternates the value so that every invocation triggers a value change
+     */
+    @Benchmark
+    public String textFilter() {
+        String value = (invocation++ % 2 == 0) ? "a1" : "b2";
+        textField.setValue(value);
+        return value;
+    }
+
+    @Benchmark
+    public Double numberFilter() {
+        Double value = (invocation++ % 2 == 0) ? 250d : 750d;
+        numberField.setValue(value);
+        return value;
+    }
+}
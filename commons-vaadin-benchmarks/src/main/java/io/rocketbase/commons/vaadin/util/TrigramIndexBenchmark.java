@@ -0,0 +1,66 @@
+package io.rocketbase.commons.vaadin.util;
+
+import com.vaadin.flow.function.ValueProvider;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * quick search via trigram index compared to a linear scan of all values
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class TrigramIndexBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    @Param({"4f1c", "name-ab"})
+    private String term;
+
+    private List<Row> items;
+    private TrigramIndex<Row> index;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Row {
+        private final String name;
+        private final String email;
+    }
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            items.add(new Row("name-" + Integer.toHexString(i * 31), "user" + i + "@example.com"));
+        }
+        List<ValueProvider<Row, String>> providers = Arrays.asList(Row::getName, Row::getEmail);
+        index = new TrigramIndex<>(providers);
+        index.rebuild(items);
+    }
+
+    @Benchmark
+    public int trigramSearch() {
+        return index.search(term).size();
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int count = 0;
+        for (Row row : items) {
+            if (row.getName().toLowerCase().contains(term) || row.getEmail().toLowerCase().contains(term)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -8,10 +8,19 @@ import lombok.Getter;
 import org.springframework.lang.Nullable;
 import org.vaadin.firitin.components.button.VButton;
 
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static com.vaadin.flow.component.button.ButtonVariant.*;
 
 public abstract class Buttons {
 
+    private static final Map<Locale, Map<ButtonType, ButtonTexts>> TEXT_CACHE = new ConcurrentHashMap<>();
+
     public static ButtonBuilder builder(ButtonType type) {
         return new ButtonBuilder(type);
     }
@@ -75,19 +84,17 @@ public abstract class Buttons {
 
     public static VButton createButton(ButtonType buttonType, boolean icon, boolean caption, boolean tooltip,
                                        Runnable onClick) {
-        UI ui = UI.getCurrent();
-        String translation = ui.getTranslation(buttonType.getCaption());
-
+        ButtonTexts texts = resolveTexts(buttonType);
 
         VButton button = new VButton();
 
         Runnable effectiveOnClick;
 
         if (buttonType.isConfirm()) {
-            effectiveOnClick = () -> Dialogs.openConfirmDelete(ui.getTranslation(buttonType.getConfirmYes()),
-                    ui.getTranslation(buttonType.getConfirmNo()),
-                    ui.getTranslation(buttonType.getConfirmHeadline()),
-                    ui.getTranslation(buttonType.getConfirmMessage()),
+            effectiveOnClick = () -> Dialogs.openConfirmDelete(texts.getConfirmYes(),
+                    texts.getConfirmNo(),
+                    texts.getConfirmHeadline(),
+                    texts.getConfirmMessage(),
                     onClick);
         } else {
             effectiveOnClick = onClick;
@@ -97,27 +104,30 @@ public abstract class Buttons {
             button.addThemeVariants(buttonType.getVariants());
         }
 
-        String tooltipText = null;
-        if (tooltip) {
-            // when tooltip is given use tooltip
-            // when no tooltip is given but caption
-            // is hidden, use the caption as tooltip
-            // otherwise the caption would be
-            // displayed twice
-            if (buttonType.getTooltip() != null) {
-                tooltipText = ui.getTranslation(buttonType.getTooltip());
-            } else if (!caption) {
-                tooltipText = translation;
-            }
-        }
-
         return handleButton(button,
                 icon ? buttonType.getIcon() : null,
-                caption ? translation : null,
-                tooltipText,
+                caption ? texts.getCaption() : null,
+                tooltip ? texts.getTooltip(caption) : null,
                 effectiveOnClick);
     }
 
+    /**
+     * resolves the translations of a {@link ButtonType} for the locale of the current UI<br>
+     * results are cached per locale so that repeated buttons (for example per grid row) don't hit the translation provider
+     */
+    public static ButtonTexts resolveTexts(ButtonType buttonType) {
+        UI ui = UI.getCurrent();
+        return TEXT_CACHE.computeIfAbsent(ui.getLocale(), l -> Collections.synchronizedMap(new WeakHashMap<>()))
+                .computeIfAbsent(buttonType, t -> new ButtonTexts(ui, t));
+    }
+
+    /**
+     * needed when translations get reloaded at runtime
+     */
+    public static void clearTextCache() {
+        TEXT_CACHE.clear();
+    }
+
     private static VButton handleButton(VButton button, @Nullable IconFactory icon, @Nullable String text, @Nullable String tooltip,
                                         @Nullable Runnable onClick) {
         if (icon != null) {
@@ -249,6 +259,55 @@ public abstract class Buttons {
         }
     }
 
+    /**
+     * translated texts of a {@link ButtonType} for one locale
+     */
+    @Getter
+    public static class ButtonTexts implements Serializable {
+        private final String caption;
+
+        @Nullable
+        private final String tooltip;
+
+        @Nullable
+        private final String confirmYes;
+
+        @Nullable
+        private final String confirmNo;
+
+        @Nullable
+        private final String confirmHeadline;
+
+        @Nullable
+        private final String confirmMessage;
+
+        private ButtonTexts(UI ui, ButtonType type) {
+            this.caption = ui.getTranslation(type.getCaption());
+            this.tooltip = translate(ui, type.getTooltip());
+            this.confirmYes = translate(ui, type.getConfirmYes());
+            this.confirmNo = translate(ui, type.getConfirmNo());
+            this.confirmHeadline = translate(ui, type.getConfirmHeadline());
+            this.confirmMessage = translate(ui, type.getConfirmMessage());
+        }
+
+        private static String translate(UI ui, @Nullable String key) {
+            return key != null ? ui.getTranslation(key) : null;
+        }
+
+        /**
+         * when tooltip is given use tooltip<br>
+         * when no tooltip is given but caption is hidden, use the caption as tooltip<br>
+         * otherwise the caption would be displayed twice
+         */
+        @Nullable
+        public String getTooltip(boolean captionVisible) {
+            if (tooltip != null) {
+                return tooltip;
+            }
+            return captionVisible ? null : caption;
+        }
+    }
+
     public static class ButtonBuilder {
         private final ButtonType type;
 
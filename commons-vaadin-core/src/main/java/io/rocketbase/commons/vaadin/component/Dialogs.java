@@ -6,6 +6,7 @@ import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.function.SerializableSupplier;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.vaadin.firitin.components.button.VButton;
@@ -100,13 +101,35 @@ public abstract class Dialogs {
      */
     public static VDialog createComplexDialog(@Nullable String headline, Component content, @Nullable Button confirm,
                                               Button closeButton, Consumer<VDialog> onClick) {
-        VDialog dialog = new VDialog();
+        FlexLayouting layout = new FlexLayouting();
+        layout.setContent(content);
+        return buildComplexDialog(headline, layout, confirm, closeButton, onClick);
+    }
 
+    public static VDialog createComplexDialog(@Nullable String headline, SerializableSupplier<? extends Component> content,
+                                              Consumer<VDialog> onClick) {
+        return createComplexDialog(headline, content, null, new VButton(UI.getCurrent().getTranslation("buttonCancel")), onClick, false);
+    }
+
+    /**
+     * same as {@link #createComplexDialog(String, Component, Button, Button, Consumer)} but the content gets built on first open
+     *
+     * @param releaseOnClose drops the content when closing - gets built again on next open
+     */
+    public static VDialog createComplexDialog(@Nullable String headline, SerializableSupplier<? extends Component> content, @Nullable Button confirm,
+                                              Button closeButton, Consumer<VDialog> onClick, boolean releaseOnClose) {
         FlexLayouting layout = new FlexLayouting();
+        VDialog dialog = buildComplexDialog(headline, layout, confirm, closeButton, onClick);
+        return LazyContent.bind(dialog, content, layout::setContent, releaseOnClose ? c -> layout.setContent() : null);
+    }
+
+    private static VDialog buildComplexDialog(@Nullable String headline, FlexLayouting layout, @Nullable Button confirm,
+                                              Button closeButton, Consumer<VDialog> onClick) {
+        VDialog dialog = new VDialog();
+
         if (headline != null) {
             layout.setHeader(headline);
         }
-        layout.setContent(content);
 
         ButtonBar buttonBar = new ButtonBar();
         if (confirm != null) {
@@ -1,6 +1,7 @@
 package io.rocketbase.commons.vaadin.component;
 
 import com.vaadin.flow.component.UI;
+import io.rocketbase.commons.vaadin.metrics.VaadinMetrics;
 import org.vaadin.firitin.components.dialog.VDialog;
 
 /**
@@ -8,20 +9,40 @@ import org.vaadin.firitin.components.dialog.VDialog;
  */
 public class ExecuteLoadingThread extends Thread {
 
+    public static final String DEFAULT_METRIC_NAME = "loading";
+
     private final UI ui;
+    private final String name;
     private final Runnable runnable;
 
     private VDialog dialog;
 
     public ExecuteLoadingThread(UI ui, Runnable runnable) {
+        this(ui, DEFAULT_METRIC_NAME, runnable);
+    }
+
+    /**
+     * @param name used to tag the duration metrics of the task
+     */
+    public ExecuteLoadingThread(UI ui, String name, Runnable runnable) {
         this.ui = ui;
+        this.name = name;
         this.runnable = runnable;
         this.dialog = Dialogs.pleaseWait();
     }
 
     @Override
     public void run() {
-        runnable.run();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            runnable.run();
+            success = true;
+        } finally {
+            if (VaadinMetrics.isEnabled()) {
+                VaadinMetrics.getRecorder().recordTask(name, System.nanoTime() - start, success);
+            }
+        }
         ui.access(() -> dialog.close());
     }
 }
@@ -0,0 +1,101 @@
+package io.rocketbase.commons.vaadin.component;
+
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.ClientCallable;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Composite;
+import com.vaadin.flow.component.HasSize;
+import com.vaadin.flow.component.HasStyle;
+import com.vaadin.flow.component.dependency.CssImport;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.function.SerializableSupplier;
+import lombok.Getter;
+import org.vaadin.firitin.fluency.ui.FluentComponent;
+
+import javax.annotation.Nullable;
+
+/**
+ * wrapper that shows a lightweight placeholder until it enters the viewport<br>
+ * an IntersectionObserver within the browser reports the visibility and only then the real component gets built by the
+ * factory - long pages (for example FlexLayouting with several grids) only build what the user actually scrolls to.
+ */
+@CssImport("./io/rocketbase/lazy-component.css")
+public class LazyComponent extends Composite<Div>
+        implements HasStyle, HasSize, FluentComponent<LazyComponent> {
+
+    private static final String CLASS_NAME = "lazy-component";
+
+    /**
+     * components within this distance below the viewport get already built while scrolling towards them
+     */
+    public static final String DEFAULT_ROOT_MARGIN = "200px";
+
+    private final SerializableSupplier<? extends Component> factory;
+
+    @Getter
+    @Nullable
+    private Component component;
+
+    private String rootMargin = DEFAULT_ROOT_MARGIN;
+
+    public LazyComponent(SerializableSupplier<? extends Component> factory) {
+        this(factory, null);
+    }
+
+    /**
+     * @param placeholder shown until visible - null for an empty box with the height of --lazy-component-placeholder-height
+     */
+    public LazyComponent(SerializableSupplier<? extends Component> factory, @Nullable Component placeholder) {
+        this.factory = factory;
+        addClassName(CLASS_NAME);
+        if (placeholder == null) {
+            placeholder = new Div();
+            placeholder.getElement().getClassList().add(CLASS_NAME + "__placeholder");
+        }
+        getContent().add(placeholder);
+    }
+
+    public LazyComponent withRootMargin(String rootMargin) {
+        this.rootMargin = rootMargin;
+        return this;
+    }
+
+    public boolean isLoaded() {
+        return component != null;
+    }
+
+    /**
+     * builds the component without waiting for the visibility
+     */
+    public void load() {
+        if (component != null) {
+            return;
+        }
+        component = factory.get();
+        getContent().removeAll();
+        getContent().add(component);
+    }
+
+    @ClientCallable
+    private void visible() {
+        load();
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        if (component != null) {
+            return;
+        }
+        // browsers without IntersectionObserver get the component right away
+        getElement().executeJs("const el = this;" +
+                "if (!window.IntersectionObserver) { el.$server.visible(); return; }" +
+                "if (el.$lazyObserver) { el.$lazyObserver.disconnect(); }" +
+                "el.$lazyObserver = new IntersectionObserver(entries => {" +
+                "  if (entries.some(e => e.isIntersecting)) {" +
+                "    el.$lazyObserver.disconnect(); delete el.$lazyObserver; el.$server.visible();" +
+                "  }" +
+                "}, {rootMargin: $0});" +
+                "el.$lazyObserver.observe(el);", rootMargin);
+    }
+}
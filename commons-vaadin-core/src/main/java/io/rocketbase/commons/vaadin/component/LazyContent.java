@@ -0,0 +1,74 @@
+package io.rocketbase.commons.vaadin.component;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.accordion.Accordion;
+import com.vaadin.flow.component.accordion.AccordionPanel;
+import com.vaadin.flow.component.dialog.Dialog;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableSupplier;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+/**
+ * content of dialogs and accordion panels that gets built by a factory on first open<br>
+ * with releaseOnClose the built component gets dropped when closing and built again on the next open - keeps the
+ * component tree of the session small for rarely used dialogs.
+ */
+public abstract class LazyContent {
+
+    public static <D extends Dialog> D bind(D dialog, SerializableSupplier<? extends Component> factory, boolean releaseOnClose) {
+        return bind(dialog, factory, dialog::add, releaseOnClose ? dialog::remove : null);
+    }
+
+    /**
+     * @param show    places the built component within the dialog
+     * @param release removes it on close - null to keep it for the next open
+     */
+    public static <D extends Dialog, C extends Component> D bind(D dialog, SerializableSupplier<C> factory,
+                                                                SerializableConsumer<C> show, @Nullable SerializableConsumer<C> release) {
+        Holder<C> holder = new Holder<>(factory, show, release);
+        dialog.addOpenedChangeListener(e -> holder.update(e.isOpened()));
+        if (dialog.isOpened()) {
+            holder.update(true);
+        }
+        return dialog;
+    }
+
+    /**
+     * panel with an empty content until it gets opened the first time
+     */
+    public static AccordionPanel addPanel(Accordion accordion, String summary, SerializableSupplier<? extends Component> factory, boolean releaseOnClose) {
+        AccordionPanel panel = accordion.add(summary, null);
+        Holder<Component> holder = new Holder<>(factory::get, panel::setContent, releaseOnClose ? c -> panel.setContent(null) : null);
+        accordion.addOpenedChangeListener(e -> holder.update(e.getOpenedPanel().filter(panel::equals).isPresent()));
+        if (accordion.getOpenedPanel().filter(panel::equals).isPresent()) {
+            holder.update(true);
+        }
+        return panel;
+    }
+
+    private static class Holder<C extends Component> implements Serializable {
+        private final SerializableSupplier<C> factory;
+        private final SerializableConsumer<C> show;
+        @Nullable
+        private final SerializableConsumer<C> release;
+        private C built;
+
+        Holder(SerializableSupplier<C> factory, SerializableConsumer<C> show, @Nullable SerializableConsumer<C> release) {
+            this.factory = factory;
+            this.show = show;
+            this.release = release;
+        }
+
+        void update(boolean opened) {
+            if (opened && built == null) {
+                built = factory.get();
+                show.accept(built);
+            } else if (!opened && built != null && release != null) {
+                release.accept(built);
+                built = null;
+            }
+        }
+    }
+}
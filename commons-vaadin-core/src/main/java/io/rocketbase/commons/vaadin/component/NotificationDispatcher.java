@@ -0,0 +1,142 @@
+package io.rocketbase.commons.vaadin.component;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
+import lombok.Getter;
+import lombok.Setter;
+import org.vaadin.firitin.components.notification.VNotification;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * per ui queue for toasts<br>
+ * identical messages within the deduplication window get collapsed into one notification with a counter, at most
+ * maxVisible toasts are open at once and further ones wait until one closes. opening happens batched within one ui.access
+ * so that bulk actions end up in a single roundtrip.
+ */
+public class NotificationDispatcher implements Serializable {
+
+    public static final int DEFAULT_MAX_VISIBLE = 3;
+    public static final Duration DEFAULT_DEDUPLICATION_WINDOW = Duration.ofSeconds(5);
+
+    private final UI ui;
+
+    @Getter
+    @Setter
+    private int maxVisible = DEFAULT_MAX_VISIBLE;
+
+    @Getter
+    @Setter
+    private Duration deduplicationWindow = DEFAULT_DEDUPLICATION_WINDOW;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Deque<Entry> queue = new ArrayDeque<>();
+    private final Set<Entry> dirty = new LinkedHashSet<>();
+    private int visible;
+    private boolean flushScheduled;
+
+    protected NotificationDispatcher(UI ui) {
+        this.ui = ui;
+    }
+
+    public static NotificationDispatcher get(UI ui) {
+        synchronized (ui) {
+            NotificationDispatcher dispatcher = ComponentUtil.getData(ui, NotificationDispatcher.class);
+            if (dispatcher == null) {
+                dispatcher = new NotificationDispatcher(ui);
+                ComponentUtil.setData(ui, NotificationDispatcher.class, dispatcher);
+            }
+            return dispatcher;
+        }
+    }
+
+    /**
+     * can be called from any thread - returns the notification that shows the message (an already open one when collapsed)
+     */
+    public synchronized VNotification show(String message, int duration, Notification.Position position, NotificationVariant... variants) {
+        String key = message + "|" + position + "|" + Arrays.toString(variants);
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.last < deduplicationWindow.toNanos()) {
+            entry.count++;
+            entry.last = now;
+            dirty.add(entry);
+            scheduleFlush();
+            return entry.notification;
+        }
+        VNotification notification = new VNotification(message, duration, position);
+        notification.addThemeVariants(variants);
+        entry = new Entry(key, message, notification, now);
+        Entry created = entry;
+        notification.addOpenedChangeListener(e -> {
+            if (!e.isOpened()) {
+                closed(created);
+            }
+        });
+        entries.put(key, entry);
+        queue.add(entry);
+        scheduleFlush();
+        return notification;
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        try {
+            // within a request the command runs when the current lock gets released - all calls of the request end up in one flush
+            ui.access(this::flush);
+        } catch (UIDetachedException e) {
+            flushScheduled = false;
+        }
+    }
+
+    protected synchronized void flush() {
+        flushScheduled = false;
+        for (Entry entry : dirty) {
+            entry.notification.setText(ui.getTranslation("notificationCount", entry.message, entry.count));
+        }
+        dirty.clear();
+        while (visible < maxVisible && !queue.isEmpty()) {
+            Entry entry = queue.poll();
+            visible++;
+            entry.opened = true;
+            entry.notification.open();
+        }
+    }
+
+    private synchronized void closed(Entry entry) {
+        if (entries.get(entry.key) == entry) {
+            entries.remove(entry.key);
+        }
+        if (entry.opened) {
+            entry.opened = false;
+            visible--;
+        }
+        if (!queue.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    private static class Entry implements Serializable {
+        private final String key;
+        private final String message;
+        private final VNotification notification;
+        private long last;
+        private int count = 1;
+        private boolean opened;
+
+        Entry(String key, String message, VNotification notification, long last) {
+            this.key = key;
+            this.message = message;
+            this.notification = notification;
+            this.last = last;
+        }
+    }
+}
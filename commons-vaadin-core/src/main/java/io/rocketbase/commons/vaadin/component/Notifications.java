@@ -18,17 +18,11 @@ public abstract class Notifications {
     private static final int DEFAULT_DURATION = 5000;
 
     public static VNotification saved() {
-        VNotification notification = new VNotification(UI.getCurrent().getTranslation("successfullySaved"), DEFAULT_DURATION);
-        notification.addThemeVariants(NotificationVariant.LUMO_SUCCESS);
-        notification.open();
-        return notification;
+        return show(UI.getCurrent().getTranslation("successfullySaved"), NotificationVariant.LUMO_SUCCESS);
     }
 
     public static VNotification deleted() {
-        VNotification notification = new VNotification(UI.getCurrent().getTranslation("successfullyDeleted"), DEFAULT_DURATION);
-        notification.addThemeVariants(NotificationVariant.LUMO_SUCCESS);
-        notification.open();
-        return notification;
+        return show(UI.getCurrent().getTranslation("successfullyDeleted"), NotificationVariant.LUMO_SUCCESS);
     }
 
     public static VNotification internalError() {
@@ -62,9 +56,14 @@ public abstract class Notifications {
     }
 
     public static VNotification validationError() {
-        VNotification notification = new VNotification(UI.getCurrent().getTranslation("validationExceptionsCheckForm"), DEFAULT_DURATION, Notification.Position.BOTTOM_START);
-        notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
-        notification.open();
-        return notification;
+        return show(UI.getCurrent().getTranslation("validationExceptionsCheckForm"), NotificationVariant.LUMO_ERROR);
+    }
+
+    /**
+     * toast via the {@link NotificationDispatcher} of the current ui - repeated messages get collapsed into one with a counter
+     */
+    public static VNotification show(String message, NotificationVariant... variants) {
+        return NotificationDispatcher.get(UI.getCurrent())
+                .show(message, DEFAULT_DURATION, Notification.Position.BOTTOM_START, variants);
     }
 }
@@ -0,0 +1,77 @@
+package io.rocketbase.commons.vaadin.component;
+
+import com.vaadin.flow.component.Composite;
+import com.vaadin.flow.component.HasStyle;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Span;
+import lombok.Getter;
+
+import java.text.MessageFormat;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * footer label that displays the total count of a grid<br>
+ * gets created once per grid and only changes its text on updates - translations are resolved once per strategy
+ */
+public class TotalCount extends Composite<Span> implements HasStyle {
+
+    private static final String CLASS_NAME = "total-count";
+
+    public enum CountStrategy {
+        EXACT("totalCount"),
+        APPROXIMATE("totalCountApproximate"),
+        /**
+         * count of loaded rows while more are available (undefined-size lazy loading)
+         */
+        LOADED("totalCountLoaded");
+
+        @Getter
+        private final String translationKey;
+
+        CountStrategy(String translationKey) {
+            this.translationKey = translationKey;
+        }
+    }
+
+    private final Map<CountStrategy, MessageFormat> formats = new EnumMap<>(CountStrategy.class);
+
+    @Getter
+    private long total = -1;
+
+    @Getter
+    private CountStrategy strategy = CountStrategy.EXACT;
+
+    public TotalCount() {
+        addClassName(CLASS_NAME);
+    }
+
+    public void setTotal(long total) {
+        setTotal(total, CountStrategy.EXACT);
+    }
+
+    public void setTotal(long total, CountStrategy strategy) {
+        if (this.total == total && this.strategy == strategy) {
+            return;
+        }
+        this.total = total;
+        this.strategy = strategy;
+        getContent().setText(getFormat(strategy).format(new Object[]{total}));
+    }
+
+    public TotalCount withTotal(long total, CountStrategy strategy) {
+        setTotal(total, strategy);
+        return this;
+    }
+
+    protected MessageFormat getFormat(CountStrategy strategy) {
+        return formats.computeIfAbsent(strategy, s -> {
+            UI ui = UI.getCurrent();
+            Locale locale = ui != null ? ui.getLocale() : Locale.getDefault();
+            // without params the translation returns the raw pattern that gets formatted locally on each update
+            String pattern = ui != null ? ui.getTranslation(s.getTranslationKey()) : null;
+            return new MessageFormat(pattern != null ? pattern : "{0}", locale);
+        });
+    }
+}
@@ -1,14 +1,24 @@
 package io.rocketbase.commons.vaadin.config;
 
 import com.vaadin.flow.i18n.I18NProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.rocketbase.commons.vaadin.data.EntityChangeBroadcaster;
+import io.rocketbase.commons.vaadin.data.PageableResultCache;
 import io.rocketbase.commons.vaadin.i18n.TranslationProvider;
+import io.rocketbase.commons.vaadin.metrics.MicrometerVaadinMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ResourceLoader;
 
 @Configuration
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 public class CommonsVaadinAutoConfiguration {
 
     @Bean
@@ -17,4 +27,40 @@ public class CommonsVaadinAutoConfiguration {
         return new TranslationProvider(resourceLoader);
     }
 
+    /**
+     * opt-in via commons.vaadin.result-cache.enabled=true
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "commons.vaadin.result-cache", name = "enabled", havingValue = "true")
+    public PageableResultCache pageableResultCache(@Value("${commons.vaadin.result-cache.max-weight:" + PageableResultCache.DEFAULT_MAX_WEIGHT + "}") long maxWeight) {
+        return new PageableResultCache(maxWeight);
+    }
+
+    /**
+     * opt-in via commons.vaadin.live-updates.enabled=true
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "commons.vaadin.live-updates", name = "enabled", havingValue = "true")
+    public EntityChangeBroadcaster entityChangeBroadcaster() {
+        return new EntityChangeBroadcaster();
+    }
+
+    /**
+     * opt-in via commons.vaadin.metrics.enabled=true
+     */
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "commons.vaadin.metrics", name = "enabled", havingValue = "true")
+    public static class CommonsVaadinMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnMissingBean
+        public MicrometerVaadinMetrics micrometerVaadinMetrics(@Autowired MeterRegistry meterRegistry) {
+            return new MicrometerVaadinMetrics(meterRegistry);
+        }
+    }
+
 }
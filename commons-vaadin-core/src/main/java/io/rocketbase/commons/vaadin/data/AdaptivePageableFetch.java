@@ -0,0 +1,178 @@
+package io.rocketbase.commons.vaadin.data;
+
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.function.ValueProvider;
+import io.rocketbase.commons.vaadin.metrics.VaadinMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * fetch callback that tunes the backend page size by the measured latency<br>
+ * fast backends with a high fixed cost per call get merged pages (doubled up to maxPageSize), slow ones get halved down to minPageSize.
+ * the slices requested by vaadin are served from the merged pages that are kept for maxAge. use {@link #toDataProvider(CallbackDataProvider.CountCallback)}
+ * so that refreshAll/refreshItem of the provider drop them as well.
+ * <br>
+ * the pageable handed to the backend is authoritative, offset/limit of the query belong to vaadin's request
+ */
+public class AdaptivePageableFetch<T, F> implements CallbackDataProvider.FetchCallback<T, F> {
+
+    public static final int DEFAULT_MIN_PAGE_SIZE = 50;
+    public static final int DEFAULT_MAX_PAGE_SIZE = 800;
+    public static final Duration DEFAULT_TARGET_LATENCY = Duration.ofMillis(250);
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofSeconds(10);
+
+    private static final int MAX_CACHED_PAGES = 8;
+
+    private final String name;
+    private final PageableDataProvider.FetchPagableApi<T, F> api;
+
+    @Getter
+    private final int minPageSize;
+
+    @Getter
+    private final int maxPageSize;
+
+    /**
+     * backend calls faster than half of the target latency merge pages, slower calls split them
+     */
+    @Getter
+    @Setter
+    private Duration targetLatency = DEFAULT_TARGET_LATENCY;
+
+    @Getter
+    @Setter
+    private Duration maxAge = DEFAULT_MAX_AGE;
+
+    @Getter
+    private volatile int effectivePageSize;
+
+    private final Map<PageKey, MergedPage<T>> pages = Collections.synchronizedMap(new LinkedHashMap<PageKey, MergedPage<T>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PageKey, MergedPage<T>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    });
+
+    public AdaptivePageableFetch(String name, PageableDataProvider.FetchPagableApi<T, F> api) {
+        this(name, api, DEFAULT_MIN_PAGE_SIZE, DEFAULT_MAX_PAGE_SIZE);
+    }
+
+    public AdaptivePageableFetch(String name, PageableDataProvider.FetchPagableApi<T, F> api, int minPageSize, int maxPageSize) {
+        if (minPageSize < 1 || maxPageSize < minPageSize) {
+            throw new IllegalArgumentException("invalid page size bounds " + minPageSize + " - " + maxPageSize);
+        }
+        this.name = name;
+        this.api = api;
+        this.minPageSize = minPageSize;
+        this.maxPageSize = maxPageSize;
+        this.effectivePageSize = minPageSize;
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, F> query) {
+        Sort sort = PageableDataProvider.createSpringSort(query, api.getDefaultSortOrders());
+        int position = query.getOffset();
+        int end = query.getOffset() + query.getLimit();
+        List<T> result = new ArrayList<>(query.getLimit());
+        while (position < end) {
+            int size = effectivePageSize;
+            int index = position / size;
+            int pageStart = index * size;
+            List<T> rows = getPage(query, new PageKey(size, index, sort, query.getFilter()));
+            int from = position - pageStart;
+            if (from >= rows.size()) {
+                break;
+            }
+            int to = Math.min(rows.size(), end - pageStart);
+            result.addAll(rows.subList(from, to));
+            position = pageStart + to;
+            if (rows.size() < size) {
+                // last page of the backend
+                break;
+            }
+        }
+        return result.stream();
+    }
+
+    /**
+     * provider that drops the merged pages on each refreshAll/refreshItem (wrappers like withConfigurableFilter delegate to it)
+     */
+    public CallbackDataProvider<T, F> toDataProvider(CallbackDataProvider.CountCallback<T, F> countCallback) {
+        return bind(new CallbackDataProvider<>(this, countCallback));
+    }
+
+    /**
+     * @param identifierGetter needed for refreshItem with reloaded instances of an entity
+     */
+    public CallbackDataProvider<T, F> toDataProvider(CallbackDataProvider.CountCallback<T, F> countCallback, ValueProvider<T, Object> identifierGetter) {
+        return bind(new CallbackDataProvider<>(this, countCallback, identifierGetter));
+    }
+
+    private CallbackDataProvider<T, F> bind(CallbackDataProvider<T, F> provider) {
+        provider.addDataProviderListener(e -> invalidate());
+        return provider;
+    }
+
+    /**
+     * drops all merged pages - gets called by providers created via {@link #toDataProvider(CallbackDataProvider.CountCallback)}
+     */
+    public void invalidate() {
+        pages.clear();
+    }
+
+    protected List<T> getPage(Query<T, F> query, PageKey key) {
+        long now = System.nanoTime();
+        MergedPage<T> page = pages.get(key);
+        if (page != null && now - page.getLoaded() < maxAge.toNanos()) {
+            return page.getRows();
+        }
+        long start = System.nanoTime();
+        List<T> rows = api.fetchFromBackEnd(query, PageRequest.of(key.getIndex(), key.getSize(), key.getSort())).getContent();
+        long duration = System.nanoTime() - start;
+        if (VaadinMetrics.isEnabled()) {
+            VaadinMetrics.getRecorder().recordFetch(name, duration, rows.size());
+        }
+        adapt(key.getSize(), rows.size(), duration);
+        pages.put(key, new MergedPage<>(start, rows));
+        return rows;
+    }
+
+    /**
+     * sizes stay minPageSize * 2^n so that merged pages of different sizes remain aligned
+     */
+    protected void adapt(int size, int loaded, long durationNanos) {
+        long target = targetLatency.toNanos();
+        if (durationNanos > target) {
+            effectivePageSize = Math.max(minPageSize, size / 2);
+        } else if (durationNanos < target / 2 && loaded >= size && size * 2 <= maxPageSize) {
+            // only full pages tell something about the cost of larger pages
+            effectivePageSize = size * 2;
+        }
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    protected static class PageKey {
+        private final int size;
+        private final int index;
+        private final Sort sort;
+        private final Optional<?> filter;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class MergedPage<T> {
+        private final long loaded;
+        private final List<T> rows;
+    }
+}
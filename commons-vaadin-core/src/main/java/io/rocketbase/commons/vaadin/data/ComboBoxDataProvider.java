@@ -0,0 +1,226 @@
+package io.rocketbase.commons.vaadin.data;
+
+import com.vaadin.flow.data.provider.AbstractBackEndDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import io.rocketbase.commons.vaadin.metrics.VaadinMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * lazy options for ComboBox (or any other component that accepts a DataProvider&lt;T, String&gt;)<br>
+ * the typed filter gets passed to the backend which gets called in pages of pageSize. the pages of recent filters are
+ * cached and extended on demand, so the page loaded for the count serves the following fetches. with a {@link LocalMatcher}
+ * longer filters get narrowed locally once a shorter prefix already returned all of its matches.
+ */
+public class ComboBoxDataProvider<T> extends AbstractBackEndDataProvider<T, String> {
+
+    public interface FetchFilterApi<T> {
+        /**
+         * @param filter trimmed lower case filter - empty when nothing has been typed
+         */
+        Page<T> fetchFromBackEnd(String filter, Pageable pageable);
+    }
+
+    /**
+     * needs to match exactly like the backend does (same fields, same rules) - otherwise narrowed results lose options
+     */
+    public interface LocalMatcher<T> extends Serializable {
+        /**
+         * @param filter trimmed lower case filter
+         */
+        boolean matches(T item, String filter);
+    }
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofSeconds(30);
+
+    private static final int MAX_CACHED_FILTERS = 32;
+
+    private final String name;
+    private final FetchFilterApi<T> api;
+
+    /**
+     * used to narrow complete prefix results locally - without matcher each filter needs its own backend call
+     */
+    @Nullable
+    private final LocalMatcher<T> localMatcher;
+
+    /**
+     * filters with less characters return no options (empty filter is still allowed to show the first page)
+     */
+    @Getter
+    @Setter
+    private int minFilterLength = 0;
+
+    /**
+     * size of the pages requested from the backend - best the same as the page size of the combobox
+     */
+    @Getter
+    @Setter
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    @Getter
+    @Setter
+    private Duration maxAge = DEFAULT_MAX_AGE;
+
+    private final Map<String, FilterResult<T>> results = Collections.synchronizedMap(new LinkedHashMap<String, FilterResult<T>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FilterResult<T>> eldest) {
+            return size() > MAX_CACHED_FILTERS;
+        }
+    });
+
+    public ComboBoxDataProvider(String name, FetchFilterApi<T> api) {
+        this(name, api, null);
+    }
+
+    /**
+     * @param localMatcher enables local narrowing of complete prefix results - only when it mirrors the backend matching
+     */
+    public ComboBoxDataProvider(String name, FetchFilterApi<T> api, @Nullable LocalMatcher<T> localMatcher) {
+        this.name = name;
+        this.api = api;
+        this.localMatcher = localMatcher;
+    }
+
+    @Override
+    protected Stream<T> fetchFromBackEnd(Query<T, String> query) {
+        String filter = normalize(query.getFilter().orElse(null));
+        if (filter.length() < minFilterLength && !filter.isEmpty()) {
+            return Stream.empty();
+        }
+        FilterResult<T> result = getCached(filter);
+        if (result == null) {
+            result = load(filter);
+        }
+        List<T> rows = extend(filter, result, query.getOffset() + query.getLimit());
+        return rows.stream()
+                .skip(query.getOffset())
+                .limit(query.getLimit());
+    }
+
+    @Override
+    protected int sizeInBackEnd(Query<T, String> query) {
+        String filter = normalize(query.getFilter().orElse(null));
+        if (filter.length() < minFilterLength && !filter.isEmpty()) {
+            return 0;
+        }
+        FilterResult<T> result = getCached(filter);
+        if (result == null) {
+            // first page gets loaded together with the count so the following fetch is served from cache
+            result = load(filter);
+        }
+        return (int) result.getTotal();
+    }
+
+    /**
+     * drops all cached filter results
+     */
+    @Override
+    public void refreshAll() {
+        results.clear();
+        super.refreshAll();
+    }
+
+    /**
+     * loads the first page of the filter into the cache
+     */
+    protected FilterResult<T> load(String filter) {
+        Page<T> page = fetchPage(filter, PageRequest.of(0, pageSize));
+        // a short first page is all there is, whatever the backend counted
+        long total = page.getNumberOfElements() < pageSize ? page.getNumberOfElements() : page.getTotalElements();
+        FilterResult<T> result = new FilterResult<>(System.nanoTime(), pageSize, new ArrayList<>(page.getContent()), total);
+        results.put(filter, result);
+        return result;
+    }
+
+    /**
+     * appends the following pages of the cached result until it covers the requested end
+     */
+    protected List<T> extend(String filter, FilterResult<T> result, int end) {
+        synchronized (result) {
+            while (result.getRows().size() < end && !result.isComplete()) {
+                int index = result.getRows().size() / result.getChunkSize();
+                Page<T> page = fetchPage(filter, PageRequest.of(index, result.getChunkSize()));
+                result.getRows().addAll(page.getContent());
+                if (page.getNumberOfElements() < result.getChunkSize()) {
+                    // backend returned less than counted
+                    result.setTotal(result.getRows().size());
+                }
+            }
+            return new ArrayList<>(result.getRows());
+        }
+    }
+
+    protected Page<T> fetchPage(String filter, Pageable pageable) {
+        long start = System.nanoTime();
+        Page<T> page = api.fetchFromBackEnd(filter, pageable);
+        if (VaadinMetrics.isEnabled()) {
+            VaadinMetrics.getRecorder().recordFetch(name, System.nanoTime() - start, page.getNumberOfElements());
+        }
+        return page;
+    }
+
+    /**
+     * exact filter or a complete result of a prefix that gets narrowed locally
+     */
+    @Nullable
+    protected FilterResult<T> getCached(String filter) {
+        long now = System.nanoTime();
+        FilterResult<T> exact = results.get(filter);
+        if (exact != null && !exact.isExpired(now, maxAge)) {
+            return exact;
+        }
+        if (localMatcher == null) {
+            return null;
+        }
+        for (int length = filter.length() - 1; length >= 0; length--) {
+            FilterResult<T> prefix = results.get(filter.substring(0, length));
+            if (prefix != null && prefix.isComplete() && !prefix.isExpired(now, maxAge)) {
+                List<T> rows;
+                synchronized (prefix) {
+                    rows = prefix.getRows().stream()
+                            .filter(item -> localMatcher.matches(item, filter))
+                            .collect(Collectors.toList());
+                }
+                FilterResult<T> narrowed = new FilterResult<>(prefix.getLoaded(), prefix.getChunkSize(), rows, rows.size());
+                results.put(filter, narrowed);
+                return narrowed;
+            }
+        }
+        return null;
+    }
+
+    protected static String normalize(@Nullable String filter) {
+        return filter != null ? filter.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    @Getter
+    @AllArgsConstructor
+    protected static class FilterResult<T> implements Serializable {
+        private final long loaded;
+        private final int chunkSize;
+        private final List<T> rows;
+        @Setter
+        private long total;
+
+        boolean isComplete() {
+            return rows.size() >= total;
+        }
+
+        boolean isExpired(long now, Duration maxAge) {
+            return now - loaded > maxAge.toNanos();
+        }
+    }
+}
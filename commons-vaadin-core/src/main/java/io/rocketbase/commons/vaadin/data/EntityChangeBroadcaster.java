@@ -0,0 +1,308 @@
+package io.rocketbase.commons.vaadin.data;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.data.provider.DataGenerator;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.ValueProvider;
+import com.vaadin.flow.shared.Registration;
+import elemental.json.JsonObject;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.lang.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * pushes {@link EntityChangedEvent}s into all attached grids that currently show the changed entity<br>
+ * the ids of the rows sent to the client get indexed via a data generator, so an event only reaches the grids that
+ * render the entity. subscriptions, grids and uis are weakly referenced - a subscription lives as long as the grid that
+ * keeps it as data generator. all changes of one ui get coalesced into a single ui.access.
+ * Needs @Push to show the changes without a further roundtrip.
+ * <br>
+ * after a session got deserialized the subscriptions reconnect to the broadcaster on the next attach of their grid.
+ */
+@Slf4j
+public class EntityChangeBroadcaster implements ApplicationListener<EntityChangedEvent> {
+
+    /**
+     * entityType -&gt; id -&gt; subscriptions of grids showing the entity
+     */
+    private final Map<Class<?>, Map<Object, Set<GridSubscription<?>>>> index = new ConcurrentHashMap<>();
+
+    /**
+     * entityType -&gt; all attached subscriptions (used for events without id)
+     */
+    private final Map<Class<?>, Set<GridSubscription<?>>> subscriptions = new ConcurrentHashMap<>();
+
+    private final Map<UI, Batch> batches = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * used by deserialized subscriptions to reconnect
+     */
+    private static volatile EntityChangeBroadcaster instance;
+
+    public EntityChangeBroadcaster() {
+        instance = this;
+    }
+
+    /**
+     * @param loader loads the current state of the entity by id - without loader (or when it returns null) the fallback of the subscription gets called
+     */
+    public <T> GridSubscription<T> register(Grid<T> grid, Class<T> entityType, ValueProvider<T, ?> idProvider, @Nullable SerializableFunction<Object, T> loader) {
+        GridSubscription<T> subscription = new GridSubscription<>(this, grid, entityType, idProvider, loader);
+        subscription.registrations.add(grid.addDataGenerator(subscription));
+        subscription.registrations.add(grid.addAttachListener(e -> subscription.attach(grid, e.getUI())));
+        subscription.registrations.add(grid.addDetachListener(e -> subscription.detach()));
+        grid.getUI().ifPresent(ui -> subscription.attach(grid, ui));
+        return subscription;
+    }
+
+    @Override
+    public void onApplicationEvent(EntityChangedEvent event) {
+        if (event.getId() == null) {
+            forEachSubscription(event.getEntityType(), subscriptions.get(event.getEntityType()), null);
+        } else {
+            Map<Object, Set<GridSubscription<?>>> ids = index.get(event.getEntityType());
+            if (ids != null) {
+                forEachSubscription(event.getEntityType(), ids.get(event.getId()), event.getId());
+            }
+        }
+    }
+
+    private void forEachSubscription(Class<?> entityType, @Nullable Set<GridSubscription<?>> targets, @Nullable Object id) {
+        if (targets == null) {
+            return;
+        }
+        for (GridSubscription<?> subscription : targets.toArray(new GridSubscription<?>[0])) {
+            UI ui = subscription.getUi();
+            if (ui == null || subscription.getGrid() == null) {
+                // grid or ui got garbage collected without detach
+                subscription.detach();
+                continue;
+            }
+            enqueue(ui, subscription, id);
+        }
+    }
+
+    private void enqueue(UI ui, GridSubscription<?> subscription, @Nullable Object id) {
+        Batch batch;
+        boolean schedule;
+        synchronized (batches) {
+            batch = batches.get(ui);
+            schedule = batch == null;
+            if (schedule) {
+                batch = new Batch();
+                batches.put(ui, batch);
+            }
+            batch.add(subscription, id);
+        }
+        if (!schedule) {
+            return;
+        }
+        try {
+            ui.access(() -> {
+                Batch pending;
+                synchronized (batches) {
+                    pending = batches.remove(ui);
+                }
+                if (pending != null) {
+                    pending.apply();
+                }
+            });
+        } catch (UIDetachedException e) {
+            batches.remove(ui);
+        }
+    }
+
+    void index(GridSubscription<?> subscription, Object id) {
+        index.computeIfAbsent(subscription.entityType, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(id, k -> newWeakSet())
+                .add(subscription);
+    }
+
+    void unindex(GridSubscription<?> subscription, Object id) {
+        Map<Object, Set<GridSubscription<?>>> ids = index.get(subscription.entityType);
+        if (ids != null) {
+            ids.computeIfPresent(id, (k, set) -> {
+                set.remove(subscription);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private static Set<GridSubscription<?>> newWeakSet() {
+        return Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    }
+
+    /**
+     * registration of a single grid - remove() stops all updates
+     */
+    public static class GridSubscription<T> implements DataGenerator<T>, Registration {
+
+        private transient EntityChangeBroadcaster broadcaster;
+        private transient WeakReference<Grid<T>> grid;
+        private final Class<T> entityType;
+        private final ValueProvider<T, ?> idProvider;
+        @Nullable
+        private final SerializableFunction<Object, T> loader;
+        private final List<Registration> registrations = new ArrayList<>();
+        private final Set<Object> shownIds = ConcurrentHashMap.newKeySet();
+        private transient volatile WeakReference<UI> ui;
+
+        /**
+         * gets called with the grid when an entity can't be reloaded or the event affects all entities - defaults to dataProvider.refreshAll<br>
+         * shouldn't capture the grid itself, it gets passed as parameter
+         */
+        @Setter
+        @Nullable
+        private SerializableConsumer<Grid<T>> fallback;
+
+        GridSubscription(EntityChangeBroadcaster broadcaster, Grid<T> grid, Class<T> entityType, ValueProvider<T, ?> idProvider, @Nullable SerializableFunction<Object, T> loader) {
+            this.broadcaster = broadcaster;
+            this.grid = new WeakReference<>(grid);
+            this.entityType = entityType;
+            this.idProvider = idProvider;
+            this.loader = loader;
+        }
+
+        public GridSubscription<T> withFallback(SerializableConsumer<Grid<T>> fallback) {
+            setFallback(fallback);
+            return this;
+        }
+
+        @Override
+        public void generateData(T item, JsonObject jsonObject) {
+            Object id = idProvider.apply(item);
+            if (id != null && shownIds.add(id) && broadcaster != null) {
+                broadcaster.index(this, id);
+            }
+        }
+
+        @Override
+        public void destroyData(T item) {
+            Object id = idProvider.apply(item);
+            if (id != null && shownIds.remove(id) && broadcaster != null) {
+                broadcaster.unindex(this, id);
+            }
+        }
+
+        @Override
+        public void destroyAllData() {
+            if (broadcaster != null) {
+                shownIds.forEach(id -> broadcaster.unindex(this, id));
+            }
+            shownIds.clear();
+        }
+
+        @Override
+        public void remove() {
+            detach();
+            registrations.forEach(Registration::remove);
+            registrations.clear();
+        }
+
+        @Nullable
+        UI getUi() {
+            WeakReference<UI> reference = ui;
+            return reference != null ? reference.get() : null;
+        }
+
+        @Nullable
+        Grid<T> getGrid() {
+            WeakReference<Grid<T>> reference = grid;
+            return reference != null ? reference.get() : null;
+        }
+
+        void attach(Grid<T> grid, UI ui) {
+            this.grid = new WeakReference<>(grid);
+            this.ui = new WeakReference<>(ui);
+            if (broadcaster == null) {
+                // deserialized session - reconnect and index the rows that are still shown
+                broadcaster = instance;
+                if (broadcaster == null) {
+                    return;
+                }
+                shownIds.forEach(id -> broadcaster.index(this, id));
+            }
+            broadcaster.subscriptions.computeIfAbsent(entityType, k -> newWeakSet()).add(this);
+        }
+
+        void detach() {
+            ui = null;
+            destroyAllData();
+            if (broadcaster != null) {
+                Set<GridSubscription<?>> attached = broadcaster.subscriptions.get(entityType);
+                if (attached != null) {
+                    attached.remove(this);
+                }
+            }
+        }
+
+        /**
+         * runs within ui.access
+         */
+        void apply(@Nullable Set<Object> ids) {
+            Grid<T> current = getGrid();
+            if (current == null) {
+                return;
+            }
+            if (ids == null || loader == null) {
+                refreshAll(current);
+                return;
+            }
+            DataProvider<T, ?> dataProvider = current.getDataProvider();
+            for (Object id : ids) {
+                if (!shownIds.contains(id)) {
+                    continue;
+                }
+                T item = loader.apply(id);
+                if (item == null) {
+                    // deleted or no longer visible - the row needs to disappear
+                    refreshAll(current);
+                    return;
+                }
+                dataProvider.refreshItem(item);
+            }
+        }
+
+        private void refreshAll(Grid<T> current) {
+            if (fallback != null) {
+                fallback.accept(current);
+            } else {
+                current.getDataProvider().refreshAll();
+            }
+        }
+    }
+
+    /**
+     * changed ids per subscription of one ui - null marks a full refresh
+     */
+    private static class Batch {
+        private final Map<GridSubscription<?>, Set<Object>> changes = new LinkedHashMap<>();
+
+        void add(GridSubscription<?> subscription, @Nullable Object id) {
+            if (id == null) {
+                changes.put(subscription, null);
+            } else if (!changes.containsKey(subscription) || changes.get(subscription) != null) {
+                changes.computeIfAbsent(subscription, k -> new LinkedHashSet<>()).add(id);
+            }
+        }
+
+        void apply() {
+            changes.forEach((subscription, ids) -> {
+                try {
+                    subscription.apply(ids);
+                } catch (RuntimeException e) {
+                    log.warn("couldn't apply entity changes: {}", e.getMessage());
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.rocketbase.commons.vaadin.data;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.lang.Nullable;
+
+/**
+ * should get published by the backend after writes so that caches and views showing the entity can react
+ */
+@Getter
+public class EntityChangedEvent extends ApplicationEvent {
+
+    private final Class<?> entityType;
+
+    /**
+     * null when the change affects more than a single entity (for example bulk updates)
+     */
+    @Nullable
+    private final Object id;
+
+    public EntityChangedEvent(Object source, Class<?> entityType) {
+        this(source, entityType, null);
+    }
+
+    public EntityChangedEvent(Object source, Class<?> entityType, @Nullable Object id) {
+        super(source);
+        this.entityType = entityType;
+        this.id = id;
+    }
+}
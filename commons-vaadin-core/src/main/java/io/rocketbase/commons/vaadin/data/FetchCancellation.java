@@ -0,0 +1,46 @@
+package io.rocketbase.commons.vaadin.data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * handed to cancellable backends - gets cancelled when the grid no longer needs the requested page<br>
+ * backends can poll {@link #isCancelled()} or register a callback (for example Statement::cancel)
+ */
+public class FetchCancellation implements Serializable {
+
+    private volatile boolean cancelled;
+
+    private final List<Runnable> callbacks = new ArrayList<>();
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * callback gets executed immediately when already cancelled
+     */
+    public void onCancel(Runnable callback) {
+        synchronized (callbacks) {
+            if (!cancelled) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    public void cancel() {
+        List<Runnable> toRun;
+        synchronized (callbacks) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toRun = new ArrayList<>(callbacks);
+            callbacks.clear();
+        }
+        toRun.forEach(Runnable::run);
+    }
+}
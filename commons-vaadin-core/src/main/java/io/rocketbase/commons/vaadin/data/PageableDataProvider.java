@@ -1,16 +1,23 @@
 package io.rocketbase.commons.vaadin.data;
 
+import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.data.provider.CallbackDataProvider;
 import com.vaadin.flow.data.provider.Query;
 import com.vaadin.flow.data.provider.QuerySortOrder;
 import com.vaadin.flow.data.provider.SortDirection;
+import io.rocketbase.commons.vaadin.metrics.VaadinMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public final class PageableDataProvider {
@@ -27,15 +34,175 @@ public final class PageableDataProvider {
         Page<T> sizeInBackEnd(Query<T, F> query, Pageable pageable);
     }
 
+    /**
+     * blocking backend that supports to abandon a page that got superseded (see ReactiveDataProvider.fromBlocking)
+     */
+    public interface CancellableFetchPagableApi<T, F> {
+        Page<T> fetchFromBackEnd(Query<T, F> query, Pageable pageable, FetchCancellation cancellation);
+
+        default List<QuerySortOrder> getDefaultSortOrders() {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * backend that doesn't need a count query - to be used with undefined-size lazy loading
+     */
+    public interface FetchSliceApi<T, F> {
+        Slice<T> fetchFromBackEnd(Query<T, F> query, Pageable pageable);
+
+        default List<QuerySortOrder> getDefaultSortOrders() {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * backend that receives the columns currently shown by the grid so it can select a narrow projection
+     */
+    public interface FetchProjectedApi<T, F> {
+        Page<T> fetchFromBackEnd(Query<T, F> query, Pageable pageable, Projection projection);
+
+        default List<QuerySortOrder> getDefaultSortOrders() {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * properties needed by the grid - columns contains the key of each visible column (or its sort properties when no key is set)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Projection implements Serializable {
+        private final Set<String> columns;
+        private final Set<String> sortProperties;
+
+        /**
+         * all properties the backend has to load
+         */
+        public Set<String> getProperties() {
+            Set<String> result = new LinkedHashSet<>(columns);
+            result.addAll(sortProperties);
+            return result;
+        }
+    }
+
+    public static final String DEFAULT_METRIC_NAME = "default";
+
     public static <T, F> CallbackDataProvider.FetchCallback<T, F> fetch(FetchPagableApi<T, F> api) {
-        return query -> api.fetchFromBackEnd(query, PageRequest.of(query.getPage(), query.getPageSize(), createSpringSort(query, api.getDefaultSortOrders()))).stream();
+        return fetch(DEFAULT_METRIC_NAME, api);
+    }
+
+    /**
+     * @param name used to tag the metrics of this provider (for example the grid or view)
+     */
+    public static <T, F> CallbackDataProvider.FetchCallback<T, F> fetch(String name, FetchPagableApi<T, F> api) {
+        return query -> {
+            if (!VaadinMetrics.isEnabled()) {
+                return api.fetchFromBackEnd(query, PageRequest.of(query.getPage(), query.getPageSize(), createSpringSort(query, api.getDefaultSortOrders()))).stream();
+            }
+            long start = System.nanoTime();
+            Page<T> page = api.fetchFromBackEnd(query, PageRequest.of(query.getPage(), query.getPageSize(), createSpringSort(query, api.getDefaultSortOrders())));
+            VaadinMetrics.getRecorder().recordFetch(name, System.nanoTime() - start, page.getNumberOfElements());
+            return page.stream();
+        };
+    }
+
+    /**
+     * merges vaadin's pages into larger backend calls depending on the measured latency - see {@link AdaptivePageableFetch}
+     */
+    public static <T, F> AdaptivePageableFetch<T, F> fetchAdaptive(String name, FetchPagableApi<T, F> api) {
+        return new AdaptivePageableFetch<>(name, api);
+    }
+
+    public static <T, F> AdaptivePageableFetch<T, F> fetchAdaptive(String name, FetchPagableApi<T, F> api, int minPageSize, int maxPageSize) {
+        return new AdaptivePageableFetch<>(name, api, minPageSize, maxPageSize);
+    }
+
+    /**
+     * projection gets calculated on each fetch so hidden columns narrow the next backend call<br>
+     * showing a column again needs a refresh of the dataProvider to load the missing properties
+     */
+    public static <T, F> CallbackDataProvider.FetchCallback<T, F> fetch(Grid<T> grid, FetchProjectedApi<T, F> api) {
+        return fetch(DEFAULT_METRIC_NAME, grid, api);
+    }
+
+    public static <T, F> CallbackDataProvider.FetchCallback<T, F> fetch(String name, Grid<T> grid, FetchProjectedApi<T, F> api) {
+        return fetch(name, new FetchPagableApi<T, F>() {
+            @Override
+            public Page<T> fetchFromBackEnd(Query<T, F> query, Pageable pageable) {
+                return api.fetchFromBackEnd(query, pageable, createProjection(grid, pageable.getSort()));
+            }
+
+            @Override
+            public List<QuerySortOrder> getDefaultSortOrders() {
+                return api.getDefaultSortOrders();
+            }
+        });
+    }
+
+    public static <T> Projection createProjection(Grid<T> grid, Sort sort) {
+        Set<String> columns = new LinkedHashSet<>();
+        for (Grid.Column<T> column : grid.getColumns()) {
+            if (!column.isVisible()) {
+                continue;
+            }
+            if (column.getKey() != null) {
+                columns.add(column.getKey());
+            } else {
+                column.getSortOrder(SortDirection.ASCENDING)
+                        .map(QuerySortOrder::getSorted)
+                        .forEach(columns::add);
+            }
+        }
+        Set<String> sortProperties = new LinkedHashSet<>();
+        sort.forEach(order -> sortProperties.add(order.getProperty()));
+        return new Projection(Collections.unmodifiableSet(columns), Collections.unmodifiableSet(sortProperties));
     }
 
     public static <T, F> CallbackDataProvider.CountCallback<T, F> count(CountPagableApi<T,F> api) {
-        return query -> (int) api.sizeInBackEnd(query, PageRequest.of(0, 1)).getTotalElements();
+        return count(DEFAULT_METRIC_NAME, api);
+    }
+
+    /**
+     * @param name used to tag the metrics of this provider (for example the grid or view)
+     */
+    public static <T, F> CallbackDataProvider.CountCallback<T, F> count(String name, CountPagableApi<T,F> api) {
+        return query -> {
+            if (!VaadinMetrics.isEnabled()) {
+                return (int) api.sizeInBackEnd(query, PageRequest.of(0, 1)).getTotalElements();
+            }
+            long start = System.nanoTime();
+            long total = api.sizeInBackEnd(query, PageRequest.of(0, 1)).getTotalElements();
+            VaadinMetrics.getRecorder().recordCount(name, System.nanoTime() - start, total);
+            return (int) total;
+        };
     }
 
 
+    public static <T, F> CallbackDataProvider.FetchCallback<T, F> fetchSlice(FetchSliceApi<T, F> api) {
+        return fetchSlice(DEFAULT_METRIC_NAME, api, null);
+    }
+
+    /**
+     * fetch without count - use with grid.setItems(fetchCallback) so that the grid grows while scrolling
+     *
+     * @param name          used to tag the metrics of this provider (for example the grid or view)
+     * @param sliceListener optional listener that receives each fetched slice (for example to update the loaded count)
+     */
+    public static <T, F> CallbackDataProvider.FetchCallback<T, F> fetchSlice(String name, FetchSliceApi<T, F> api, @Nullable Consumer<Slice<T>> sliceListener) {
+        return query -> {
+            long start = System.nanoTime();
+            Slice<T> slice = api.fetchFromBackEnd(query, PageRequest.of(query.getPage(), query.getPageSize(), createSpringSort(query, api.getDefaultSortOrders())));
+            if (VaadinMetrics.isEnabled()) {
+                VaadinMetrics.getRecorder().recordFetch(name, System.nanoTime() - start, slice.getNumberOfElements());
+            }
+            if (sliceListener != null) {
+                sliceListener.accept(slice);
+            }
+            return slice.stream();
+        };
+    }
+
     protected static Sort.Order queryOrderToSpringOrder(QuerySortOrder queryOrder) {
         return new Sort.Order(queryOrder.getDirection() == SortDirection.ASCENDING ? Sort.Direction.ASC : Sort.Direction.DESC, queryOrder.getSorted());
     }
@@ -0,0 +1,233 @@
+package io.rocketbase.commons.vaadin.data;
+
+import com.vaadin.flow.component.treegrid.TreeGrid;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.hierarchy.AbstractBackEndHierarchicalDataProvider;
+import com.vaadin.flow.data.provider.hierarchy.HierarchicalQuery;
+import com.vaadin.flow.function.SerializablePredicate;
+import io.rocketbase.commons.vaadin.metrics.VaadinMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * lazy tree for TreeGrid - children get loaded per parent and page on demand<br>
+ * the child count is taken from the first loaded page (no separate count query), hasChildren can be answered by a flag
+ * of the item to avoid any backend call. loaded subtrees are cached until their parent gets collapsed (see {@link #bind(TreeGrid)}).
+ */
+public class PageableHierarchicalDataProvider<T, F> extends AbstractBackEndHierarchicalDataProvider<T, F> {
+
+    public interface FetchChildrenApi<T, F> {
+        /**
+         * @param parent null for the root items
+         */
+        Page<T> fetchChildren(@Nullable T parent, HierarchicalQuery<T, F> query, Pageable pageable);
+
+        default List<QuerySortOrder> getDefaultSortOrders() {
+            return new ArrayList<>();
+        }
+    }
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private static final int MAX_CACHED_PARENTS = 256;
+
+    private final String name;
+    private final FetchChildrenApi<T, F> api;
+
+    /**
+     * answers hasChildren without a backend call (for example item.getChildCount() > 0)
+     */
+    @Setter
+    @Nullable
+    private SerializablePredicate<T> hasChildrenFlag;
+
+    /**
+     * size of the page that gets loaded when the child count is requested first
+     */
+    @Getter
+    @Setter
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    /**
+     * access ordered - trimmed in {@link #getChildren(HierarchicalQuery)} so that evicted parents take their descendants along
+     */
+    private final Map<Object, Children<T>> children = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true));
+
+    /**
+     * sort and filter of the latest query - hasChildren only receives the item
+     */
+    private volatile List<QuerySortOrder> latestSortOrders = Collections.emptyList();
+    private volatile F latestFilter;
+
+    public PageableHierarchicalDataProvider(String name, FetchChildrenApi<T, F> api) {
+        this.name = name;
+        this.api = api;
+    }
+
+    public PageableHierarchicalDataProvider<T, F> withHasChildrenFlag(SerializablePredicate<T> hasChildrenFlag) {
+        setHasChildrenFlag(hasChildrenFlag);
+        return this;
+    }
+
+    /**
+     * sets this provider on the grid and evicts the cached subtree of each collapsed item
+     */
+    public PageableHierarchicalDataProvider<T, F> bind(TreeGrid<T> grid) {
+        grid.setDataProvider(this);
+        grid.addCollapseListener(e -> e.getItems().forEach(this::evict));
+        return this;
+    }
+
+    @Override
+    protected Stream<T> fetchChildrenFromBackEnd(HierarchicalQuery<T, F> query) {
+        Children<T> cached = getChildren(query);
+        List<T> rows = cached.getRows(query.getOffset(), query.getLimit());
+        if (rows == null) {
+            rows = load(query, cached, PageRequest.of(query.getPage(), query.getPageSize(), cached.getSort()));
+        }
+        return rows.stream();
+    }
+
+    @Override
+    public int getChildCount(HierarchicalQuery<T, F> query) {
+        Children<T> cached = getChildren(query);
+        if (cached.getTotal() < 0) {
+            // first page gets loaded together with the count so that the following fetch is served from cache
+            load(query, cached, PageRequest.of(0, pageSize, cached.getSort()));
+        }
+        return (int) Math.min(cached.getTotal(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean hasChildren(T item) {
+        if (hasChildrenFlag != null) {
+            return hasChildrenFlag.test(item);
+        }
+        Children<T> cached = children.get(getId(item));
+        if (cached != null && cached.getTotal() >= 0) {
+            return cached.getTotal() > 0;
+        }
+        return getChildCount(new HierarchicalQuery<>(0, pageSize, latestSortOrders, null, latestFilter, item)) > 0;
+    }
+
+    /**
+     * drops the cached children of the item and all of its loaded descendants
+     */
+    public void evict(T item) {
+        evictKey(getId(item));
+    }
+
+    @Override
+    public void refreshItem(T item, boolean refreshChildren) {
+        if (refreshChildren) {
+            evict(item);
+        }
+        super.refreshItem(item, refreshChildren);
+    }
+
+    @Override
+    public void refreshAll() {
+        children.clear();
+        super.refreshAll();
+    }
+
+    protected List<T> load(HierarchicalQuery<T, F> query, Children<T> cached, Pageable pageable) {
+        long start = System.nanoTime();
+        Page<T> page = api.fetchChildren(query.getParent(), query, pageable);
+        if (VaadinMetrics.isEnabled()) {
+            VaadinMetrics.getRecorder().recordFetch(name, System.nanoTime() - start, page.getNumberOfElements());
+        }
+        List<T> rows = page.getContent();
+        cached.put((int) pageable.getOffset(), rows, page.getTotalElements());
+        rows.forEach(row -> cached.getChildIds().add(getId(row)));
+        return rows.subList(0, Math.min(rows.size(), query.getLimit()));
+    }
+
+    /**
+     * cached children of the parent - a changed sort or filter replaces the entry
+     */
+    protected Children<T> getChildren(HierarchicalQuery<T, F> query) {
+        latestSortOrders = query.getSortOrders();
+        latestFilter = query.getFilter().orElse(null);
+        Object key = query.getParent() != null ? getId(query.getParent()) : RootKey.INSTANCE;
+        Sort sort = PageableDataProvider.createSpringSort(query, api.getDefaultSortOrders());
+        Children<T> cached = children.get(key);
+        if (cached == null || !cached.isSameView(sort, query.getFilter())) {
+            if (cached != null) {
+                cached.getChildIds().forEach(this::evictKey);
+            }
+            cached = new Children<>(sort, query.getFilter());
+            children.put(key, cached);
+            trim();
+        }
+        return cached;
+    }
+
+    private void trim() {
+        synchronized (children) {
+            while (children.size() > MAX_CACHED_PARENTS) {
+                evictKey(children.keySet().iterator().next());
+            }
+        }
+    }
+
+    private void evictKey(Object key) {
+        Children<T> removed = children.remove(key);
+        if (removed != null) {
+            removed.getChildIds().forEach(this::evictKey);
+        }
+    }
+
+    private enum RootKey {
+        INSTANCE
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    protected static class Children<T> implements Serializable {
+        private final Sort sort;
+        private final Optional<?> filter;
+        private final Map<Integer, List<T>> pages = new ConcurrentHashMap<>();
+        private final Set<Object> childIds = ConcurrentHashMap.newKeySet();
+        private volatile long total = -1;
+
+        boolean isSameView(Sort sort, Optional<?> filter) {
+            return Objects.equals(this.sort, sort) && Objects.equals(this.filter, filter);
+        }
+
+        void put(int offset, List<T> rows, long total) {
+            pages.put(offset, rows);
+            this.total = total;
+        }
+
+        /**
+         * rows of a cached page that covers the requested range - null when a backend call is needed
+         */
+        @Nullable
+        List<T> getRows(int offset, int limit) {
+            for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+                int from = offset - entry.getKey();
+                List<T> rows = entry.getValue();
+                if (from < 0 || from > rows.size()) {
+                    continue;
+                }
+                boolean lastPage = entry.getKey() + rows.size() >= total;
+                if (from + limit <= rows.size() || lastPage) {
+                    return rows.subList(from, Math.min(rows.size(), from + limit));
+                }
+            }
+            return null;
+        }
+    }
+}
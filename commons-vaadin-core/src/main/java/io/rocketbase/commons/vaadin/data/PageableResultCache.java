@@ -0,0 +1,222 @@
+package io.rocketbase.commons.vaadin.data;
+
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.function.SerializableSupplier;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * application-scoped cache of backend pages shared across all sessions<br>
+ * entries are keyed by (api id, filter, sort, page), bounded by the total count of cached rows and get invalidated
+ * per entity type by {@link EntityChangedEvent}s. Concurrent misses of the same key result in a single backend call.
+ * Filters need a proper equals/hashCode to be cacheable and must not get mutated after being passed into a query - they
+ * become part of the key, so create a new filter instance for each change.
+ * <br>
+ * <b>results are shared between all users</b>: {@link #fetch(String, Class, PageableDataProvider.FetchPagableApi)} and
+ * {@link #count(String, Class, PageableDataProvider.CountPagableApi)} may only be used for data that is the same for
+ * everyone. backends that respect permissions or tenants need the variants with a scope supplier (for example the
+ * current principal or tenant id) that becomes part of the key.
+ */
+public class PageableResultCache implements ApplicationListener<EntityChangedEvent> {
+
+    public static final long DEFAULT_MAX_WEIGHT = 100_000;
+
+    @Getter
+    private final long maxWeight;
+
+    private long weight;
+
+    private final LinkedHashMap<CacheKey, Page<?>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<CacheKey, InFlight> inflight = new ConcurrentHashMap<>();
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public PageableResultCache() {
+        this(DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * @param maxWeight maximum count of rows kept within the cache (count results weigh one)
+     */
+    public PageableResultCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * only for data that is the same for every user - see {@link #fetch(String, Class, SerializableSupplier, PageableDataProvider.FetchPagableApi)}
+     */
+    public <T, F> CallbackDataProvider.FetchCallback<T, F> fetch(String apiId, Class<T> entityType, PageableDataProvider.FetchPagableApi<T, F> api) {
+        return fetch(apiId, entityType, null, api);
+    }
+
+    /**
+     * @param scope gets evaluated per query within the request thread - results are only shared between equal scopes
+     */
+    public <T, F> CallbackDataProvider.FetchCallback<T, F> fetch(String apiId, Class<T> entityType, @Nullable SerializableSupplier<?> scope,
+                                                                 PageableDataProvider.FetchPagableApi<T, F> api) {
+        return PageableDataProvider.fetch(apiId, new PageableDataProvider.FetchPagableApi<T, F>() {
+            @Override
+            public Page<T> fetchFromBackEnd(Query<T, F> query, Pageable pageable) {
+                return get(new CacheKey(apiId, entityType, scope != null ? scope.get() : null, false, query.getFilter().orElse(null), pageable),
+                        () -> api.fetchFromBackEnd(query, pageable));
+            }
+
+            @Override
+            public List<QuerySortOrder> getDefaultSortOrders() {
+                return api.getDefaultSortOrders();
+            }
+        });
+    }
+
+    /**
+     * only for data that is the same for every user - see {@link #count(String, Class, SerializableSupplier, PageableDataProvider.CountPagableApi)}
+     */
+    public <T, F> CallbackDataProvider.CountCallback<T, F> count(String apiId, Class<T> entityType, PageableDataProvider.CountPagableApi<T, F> api) {
+        return count(apiId, entityType, null, api);
+    }
+
+    public <T, F> CallbackDataProvider.CountCallback<T, F> count(String apiId, Class<T> entityType, @Nullable SerializableSupplier<?> scope,
+                                                                 PageableDataProvider.CountPagableApi<T, F> api) {
+        return PageableDataProvider.count(apiId, (query, pageable) -> get(new CacheKey(apiId, entityType, scope != null ? scope.get() : null, true, query.getFilter().orElse(null), pageable),
+                () -> {
+                    Page<T> page = api.sizeInBackEnd(query, pageable);
+                    // only the total is needed
+                    return new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 1), page.getTotalElements());
+                }));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> get(CacheKey key, Supplier<Page<T>> loader) {
+        synchronized (this) {
+            Page<?> cached = entries.get(key);
+            if (cached != null) {
+                return (Page<T>) cached;
+            }
+        }
+        long version = version(key.getEntityType()).get();
+
+        // only join loads of the same version - a load started before an invalidation may return outdated rows
+        InFlight own = new InFlight(version);
+        InFlight running = inflight.compute(key, (k, current) -> current != null && current.version == version ? current : own);
+        if (running != own) {
+            try {
+                return (Page<T>) running.future.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        CompletableFuture<Page<?>> future = own.future;
+        try {
+            Page<T> loaded = loader.get();
+            Page<T> result = new PageImpl<>(Collections.unmodifiableList(new ArrayList<>(loaded.getContent())),
+                    loaded.getPageable(), loaded.getTotalElements());
+            put(key, result, version);
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(key, own);
+        }
+    }
+
+    public synchronized void invalidate(Class<?> entityType) {
+        version(entityType);
+        versions.forEach((type, version) -> {
+            if (type.isAssignableFrom(entityType)) {
+                version.incrementAndGet();
+            }
+        });
+        Iterator<Map.Entry<CacheKey, Page<?>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<CacheKey, Page<?>> entry = iterator.next();
+            if (entry.getKey().getEntityType().isAssignableFrom(entityType)) {
+                weight -= weigh(entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        versions.values().forEach(AtomicLong::incrementAndGet);
+        entries.clear();
+        weight = 0;
+    }
+
+    @Override
+    public void onApplicationEvent(EntityChangedEvent event) {
+        invalidate(event.getEntityType());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    private synchronized void put(CacheKey key, Page<?> page, long version) {
+        // skip results that were loaded while the entity type got invalidated
+        if (version(key.getEntityType()).get() != version) {
+            return;
+        }
+        Page<?> previous = entries.put(key, page);
+        if (previous != null) {
+            weight -= weigh(previous);
+        }
+        weight += weigh(page);
+
+        Iterator<Map.Entry<CacheKey, Page<?>>> iterator = entries.entrySet().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            Map.Entry<CacheKey, Page<?>> eldest = iterator.next();
+            weight -= weigh(eldest.getValue());
+            iterator.remove();
+        }
+    }
+
+    private AtomicLong version(Class<?> entityType) {
+        return versions.computeIfAbsent(entityType, t -> new AtomicLong());
+    }
+
+    private static long weigh(Page<?> page) {
+        return Math.max(1, page.getNumberOfElements());
+    }
+
+    @RequiredArgsConstructor
+    private static class InFlight {
+        private final long version;
+        private final CompletableFuture<Page<?>> future = new CompletableFuture<>();
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    public static class CacheKey {
+        private final String apiId;
+        private final Class<?> entityType;
+        /**
+         * principal/tenant the result belongs to - null for data that is the same for every user
+         */
+        private final Object scope;
+        private final boolean count;
+        private final Object filter;
+        private final Pageable pageable;
+    }
+}
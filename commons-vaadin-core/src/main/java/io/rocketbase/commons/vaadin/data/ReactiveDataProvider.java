@@ -0,0 +1,239 @@
+package io.rocketbase.commons.vaadin.data;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.data.provider.AbstractBackEndDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * non blocking alternative to {@link PageableDataProvider} for reactive backends<br>
+ * fetch and count get subscribed off the request thread - until the result arrives the grid receives the last known
+ * state, afterwards the loaded rows get pushed via ui.access. Needs @Push (or polling) to show results without a further roundtrip.
+ */
+@Slf4j
+public class ReactiveDataProvider<T, F> extends AbstractBackEndDataProvider<T, F> {
+
+    public interface FetchReactiveApi<T, F> {
+        Flux<T> fetchFromBackEnd(Query<T, F> query, Pageable pageable);
+
+        default List<QuerySortOrder> getDefaultSortOrders() {
+            return new ArrayList<>();
+        }
+    }
+
+    public interface CountReactiveApi<T, F> {
+        Mono<Long> sizeInBackEnd(Query<T, F> query);
+    }
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int MAX_CACHED_PAGES = 32;
+
+    /**
+     * pending pages further away from the latest requested range are treated as superseded
+     */
+    private static final int MAX_PENDING_DISTANCE_PAGES = 4;
+
+    private final FetchReactiveApi<T, F> fetchApi;
+    private final CountReactiveApi<T, F> countApi;
+
+    @Getter
+    @Setter
+    private Duration timeout = DEFAULT_TIMEOUT;
+
+    @Getter
+    @Setter
+    private Scheduler scheduler = Schedulers.boundedElastic();
+
+    /**
+     * gets called within ui.access when fetch or count failed or timed out
+     */
+    @Setter
+    private Consumer<Throwable> errorHandler = e -> log.warn("reactive backend call failed: {}", e.getMessage());
+
+    private final Map<PageKey, List<T>> pages = Collections.synchronizedMap(new LinkedHashMap<PageKey, List<T>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PageKey, List<T>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    });
+    private final Map<Optional<F>, Integer> counts = new ConcurrentHashMap<>();
+    private final Map<Object, Disposable> pending = new ConcurrentHashMap<>();
+
+    public ReactiveDataProvider(FetchReactiveApi<T, F> fetchApi, CountReactiveApi<T, F> countApi) {
+        this.fetchApi = fetchApi;
+        this.countApi = countApi;
+    }
+
+    /**
+     * runs a blocking cancellable backend off the request thread - superseded pages get cancelled via {@link FetchCancellation}
+     */
+    public static <T, F> ReactiveDataProvider<T, F> fromBlocking(PageableDataProvider.CancellableFetchPagableApi<T, F> fetchApi,
+                                                                PageableDataProvider.CountPagableApi<T, F> countApi) {
+        return new ReactiveDataProvider<>(new FetchReactiveApi<T, F>() {
+            @Override
+            public Flux<T> fetchFromBackEnd(Query<T, F> query, Pageable pageable) {
+                return Mono.defer(() -> {
+                    FetchCancellation cancellation = new FetchCancellation();
+                    return Mono.fromCallable(() -> fetchApi.fetchFromBackEnd(query, pageable, cancellation))
+                            .doOnCancel(cancellation::cancel);
+                }).flatMapIterable(Page::getContent);
+            }
+
+            @Override
+            public List<QuerySortOrder> getDefaultSortOrders() {
+                return fetchApi.getDefaultSortOrders();
+            }
+        }, query -> Mono.fromCallable(() -> countApi.sizeInBackEnd(query, PageRequest.of(0, 1)).getTotalElements()));
+    }
+
+    public ReactiveDataProvider<T, F> withTimeout(Duration timeout) {
+        setTimeout(timeout);
+        return this;
+    }
+
+    @Override
+    protected Stream<T> fetchFromBackEnd(Query<T, F> query) {
+        PageKey key = new PageKey(query.getOffset(), query.getLimit(),
+                PageableDataProvider.createSpringSort(query, fetchApi.getDefaultSortOrders()), query.getFilter());
+        cancelSuperseded(key);
+        List<T> page = pages.get(key);
+        if (page != null) {
+            return page.stream();
+        }
+        Pageable pageable = PageRequest.of(query.getPage(), query.getPageSize(), key.getSort());
+        subscribe(key, fetchApi.fetchFromBackEnd(query, pageable).collectList(), rows -> pages.put(key, rows), () -> pages.put(key, Collections.emptyList()));
+        // without ui the result got loaded synchronously, otherwise it gets pushed later
+        return pages.getOrDefault(key, Collections.emptyList()).stream();
+    }
+
+    @Override
+    protected int sizeInBackEnd(Query<T, F> query) {
+        Optional<F> key = query.getFilter();
+        // counts of other filters are no longer needed
+        cancelPending(k -> k instanceof Optional && !k.equals(key));
+        Integer count = counts.get(key);
+        if (count != null) {
+            return count;
+        }
+        subscribe(key, countApi.sizeInBackEnd(query).defaultIfEmpty(0L), total -> counts.put(key, total.intValue()), () -> counts.put(key, 0));
+        return counts.getOrDefault(key, 0);
+    }
+
+    /**
+     * invalidates all loaded pages and counts and cancels running backend calls
+     */
+    @Override
+    public void refreshAll() {
+        pending.values().forEach(Disposable::dispose);
+        pending.clear();
+        pages.clear();
+        counts.clear();
+        super.refreshAll();
+    }
+
+    /**
+     * disposes pending pages of another sort/filter or far away from the requested range - their results never get applied
+     */
+    protected void cancelSuperseded(PageKey requested) {
+        int maxDistance = Math.max(requested.getLimit(), 1) * MAX_PENDING_DISTANCE_PAGES;
+        cancelPending(k -> k instanceof PageKey && !requested.equals(k) &&
+                (!((PageKey) k).isSameView(requested) || Math.abs(((PageKey) k).getOffset() - requested.getOffset()) > maxDistance));
+    }
+
+    private void cancelPending(Predicate<Object> superseded) {
+        pending.entrySet().removeIf(entry -> {
+            if (superseded.test(entry.getKey())) {
+                entry.getValue().dispose();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    protected <R> void subscribe(Object key, Mono<R> mono, Consumer<R> onResult, Runnable onError) {
+        if (pending.containsKey(key)) {
+            return;
+        }
+        UI ui = UI.getCurrent();
+        if (ui == null) {
+            // without ui there is no way to push a later result, so wait within the current thread
+            try {
+                onResult.accept(mono.timeout(timeout).block());
+            } catch (RuntimeException e) {
+                onError.run();
+                errorHandler.accept(e);
+            }
+            return;
+        }
+        // registered before subscribing and used as token - a result only gets applied while its own subscription is pending
+        Disposable.Swap subscription = Disposables.swap();
+        pending.put(key, subscription);
+        subscription.update(mono.timeout(timeout)
+                .subscribeOn(scheduler)
+                .subscribe(result -> deliver(ui, key, subscription, () -> onResult.accept(result)),
+                        error -> deliver(ui, key, subscription, () -> {
+                            // remember the failure so the following refresh doesn't retrigger the call in a loop
+                            onError.run();
+                            errorHandler.accept(error);
+                        })));
+        // results get applied via ui.access which waits for the session lock held by the current request
+    }
+
+    private void deliver(UI ui, Object key, Disposable subscription, Runnable apply) {
+        if (ui.isClosing()) {
+            pending.remove(key, subscription);
+            return;
+        }
+        try {
+            ui.access(() -> {
+                if (!pending.remove(key, subscription)) {
+                    // got cancelled or replaced by a newer subscription after refreshAll in the meantime
+                    return;
+                }
+                apply.run();
+                // refresh without invalidating the already loaded pages
+                super.refreshAll();
+            });
+        } catch (UIDetachedException e) {
+            pending.remove(key, subscription);
+        }
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    protected static class PageKey {
+        private final int offset;
+        private final int limit;
+        private final Sort sort;
+        private final Optional<?> filter;
+
+        boolean isSameView(PageKey other) {
+            return Objects.equals(sort, other.sort) && Objects.equals(filter, other.filter);
+        }
+    }
+}
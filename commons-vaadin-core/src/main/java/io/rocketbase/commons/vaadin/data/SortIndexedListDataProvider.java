@@ -0,0 +1,223 @@
+package io.rocketbase.commons.vaadin.data;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridSortOrder;
+import com.vaadin.flow.data.provider.ListDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.SortDirection;
+import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.function.ValueProvider;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * ListDataProvider that sorts registered columns via cached permutations<br>
+ * sort keys (CollationKeys for strings) get extracted once per column, the ascending permutation is kept until the items
+ * change so a descending sort is just a reverse iteration. the result of the current filter is kept as bitset and
+ * combined with the permutation. multi column sorts or a sortComparator fall back to the default sorting.
+ * <br>
+ * changed values of an item need a refreshItem to invalidate the cached keys.
+ */
+public class SortIndexedListDataProvider<T> extends ListDataProvider<T> {
+
+    private final Grid<T> grid;
+    private final Map<Grid.Column<T>, ValueProvider<T, ?>> sortKeys;
+
+    private transient Object[] snapshot;
+    private transient Map<Grid.Column<T>, int[]> permutations = new HashMap<>();
+    private transient Object filterIdentity;
+    private transient Object queryFilterIdentity;
+    private transient BitSet filterBits;
+
+    public SortIndexedListDataProvider(Grid<T> grid, Collection<T> items) {
+        this(grid, items, new LinkedHashMap<>());
+    }
+
+    private SortIndexedListDataProvider(Grid<T> grid, Collection<T> items, Map<Grid.Column<T>, ValueProvider<T, ?>> sortKeys) {
+        super(items);
+        this.grid = grid;
+        this.sortKeys = sortKeys;
+    }
+
+    /**
+     * @param valueProvider strings get compared by the collator of the ui locale, other values need to be Comparable
+     */
+    public SortIndexedListDataProvider<T> withSortKey(Grid.Column<T> column, ValueProvider<T, ?> valueProvider) {
+        sortKeys.put(column, valueProvider);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * new provider for other items with the same sort keys
+     */
+    public SortIndexedListDataProvider<T> withItems(Collection<T> items) {
+        return new SortIndexedListDataProvider<>(grid, items, sortKeys);
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
+        GridSortOrder<T> sortOrder = getIndexedSortOrder();
+        if (sortOrder == null) {
+            return super.fetch(query);
+        }
+        Object[] items = getSnapshot();
+        int[] permutation = getPermutation(sortOrder.getSorted(), items);
+        BitSet matches = getFilterBits(query, items);
+        boolean descending = sortOrder.getDirection() == SortDirection.DESCENDING;
+
+        List<T> result = new ArrayList<>(Math.min(query.getLimit(), items.length));
+        int skip = query.getOffset();
+        for (int i = 0; i < permutation.length && result.size() < query.getLimit(); i++) {
+            int position = permutation[descending ? permutation.length - 1 - i : i];
+            if (matches != null && !matches.get(position)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(item(items, position));
+        }
+        return result.stream();
+    }
+
+    @Override
+    public int size(Query<T, SerializablePredicate<T>> query) {
+        if (getIndexedSortOrder() == null) {
+            return super.size(query);
+        }
+        Object[] items = getSnapshot();
+        BitSet matches = getFilterBits(query, items);
+        return matches != null ? matches.cardinality() : items.length;
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        invalidate();
+        super.refreshItem(item);
+    }
+
+    @Override
+    public void refreshAll() {
+        // filter changes end up here as well - cached keys stay valid while the items are unchanged
+        filterBits = null;
+        filterIdentity = null;
+        queryFilterIdentity = null;
+        super.refreshAll();
+    }
+
+    public void invalidate() {
+        snapshot = null;
+        permutations = new HashMap<>();
+        filterBits = null;
+    }
+
+    protected GridSortOrder<T> getIndexedSortOrder() {
+        if (getSortComparator() != null) {
+            return null;
+        }
+        List<GridSortOrder<T>> sortOrder = grid.getSortOrder();
+        if (sortOrder.size() != 1 || !sortKeys.containsKey(sortOrder.get(0).getSorted())) {
+            return null;
+        }
+        return sortOrder.get(0);
+    }
+
+    /**
+     * items by position - gets recreated when items got added, removed or replaced in the backing collection
+     */
+    protected Object[] getSnapshot() {
+        Collection<T> items = getItems();
+        if (snapshot != null && snapshot.length == items.size()) {
+            int i = 0;
+            boolean unchanged = true;
+            for (T item : items) {
+                if (snapshot[i++] != item) {
+                    unchanged = false;
+                    break;
+                }
+            }
+            if (unchanged) {
+                return snapshot;
+            }
+        }
+        invalidate();
+        snapshot = items.toArray();
+        return snapshot;
+    }
+
+    protected int[] getPermutation(Grid.Column<T> column, Object[] items) {
+        if (permutations == null) {
+            permutations = new HashMap<>();
+        }
+        return permutations.computeIfAbsent(column, c -> createPermutation(sortKeys.get(c), items));
+    }
+
+    @SuppressWarnings("unchecked")
+    protected int[] createPermutation(ValueProvider<T, ?> valueProvider, Object[] items) {
+        UI ui = UI.getCurrent();
+        Collator collator = Collator.getInstance(ui != null ? ui.getLocale() : Locale.getDefault());
+        Comparable<Object>[] keys = new Comparable[items.length];
+        for (int i = 0; i < items.length; i++) {
+            Object value = valueProvider.apply(item(items, i));
+            if (value instanceof String) {
+                CollationKey key = collator.getCollationKey((String) value);
+                keys[i] = (Comparable) key;
+            } else {
+                keys[i] = (Comparable<Object>) value;
+            }
+        }
+        Integer[] order = new Integer[items.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            Comparable<Object> left = keys[a];
+            Comparable<Object> right = keys[b];
+            if (left == null || right == null) {
+                return left == right ? 0 : (left == null ? -1 : 1);
+            }
+            return left.compareTo(right);
+        });
+        int[] permutation = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            permutation[i] = order[i];
+        }
+        return permutation;
+    }
+
+    /**
+     * positions matching the configured and the query filter - null when nothing is filtered
+     */
+    protected BitSet getFilterBits(Query<T, SerializablePredicate<T>> query, Object[] items) {
+        SerializablePredicate<T> filter = getFilter();
+        SerializablePredicate<T> queryFilter = query.getFilter().orElse(null);
+        if (filter == null && queryFilter == null) {
+            return null;
+        }
+        if (filterBits != null && filterIdentity == filter && queryFilterIdentity == queryFilter) {
+            return filterBits;
+        }
+        BitSet bits = new BitSet(items.length);
+        for (int i = 0; i < items.length; i++) {
+            T item = item(items, i);
+            if ((filter == null || filter.test(item)) && (queryFilter == null || queryFilter.test(item))) {
+                bits.set(i);
+            }
+        }
+        filterBits = bits;
+        filterIdentity = filter;
+        queryFilterIdentity = queryFilter;
+        return bits;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(Object[] items, int position) {
+        return (T) items[position];
+    }
+}
@@ -1,6 +1,7 @@
 package io.rocketbase.commons.vaadin.i18n;
 
 import com.vaadin.flow.i18n.I18NProvider;
+import io.rocketbase.commons.vaadin.metrics.VaadinMetrics;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,13 +26,18 @@ public class TranslationProvider implements I18NProvider, InitializingBean {
 
     @Override
     public String getTranslation(String key, Locale locale, Object... params) {
+        long start = System.nanoTime();
+        String result = null;
         try {
-            return messageSource.getMessage(key, params, locale);
+            result = messageSource.getMessage(key, params, locale);
         } catch (NoSuchMessageException e) {
+            log.warn("Key: {} not found in bundle", key);
         }
-
-        log.warn("Key: {} not found in bundle", key);
-        return null;
+        if (VaadinMetrics.isEnabled()) {
+            // messageSource uses the code as default message so a result equal to the key is a miss
+            VaadinMetrics.getRecorder().recordTranslation(result != null && !result.equals(key), System.nanoTime() - start);
+        }
+        return result;
     }
 
     @Override
@@ -0,0 +1,88 @@
+package io.rocketbase.commons.vaadin.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * publishes the hot path timings to micrometer and registers itself as {@link VaadinMetrics} recorder
+ */
+@RequiredArgsConstructor
+public class MicrometerVaadinMetrics implements VaadinMetricsRecorder, InitializingBean, DisposableBean {
+
+    public static final String PREFIX = "commons.vaadin.";
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordFetch(String name, long nanos, int rows) {
+        timer("data.fetch", "name", name).record(nanos, TimeUnit.NANOSECONDS);
+        summary("data.fetch.rows", "name", name).record(rows);
+    }
+
+    @Override
+    public void recordCount(String name, long nanos, long count) {
+        timer("data.count", "name", name).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordFilter(String name, long nanos, int rows) {
+        timer("grid.filter", "name", name).record(nanos, TimeUnit.NANOSECONDS);
+        summary("grid.filter.rows", "name", name).record(rows);
+    }
+
+    @Override
+    public void recordTranslation(boolean hit, long nanos) {
+        timer("i18n.lookup", "result", hit ? "hit" : "miss").record(nanos, TimeUnit.NANOSECONDS);
+        if (!hit) {
+            counters.computeIfAbsent("i18n.miss", k -> Counter.builder(PREFIX + k)
+                            .register(registry))
+                    .increment();
+        }
+    }
+
+    @Override
+    public void recordTask(String name, long nanos, boolean success) {
+        timer("task", "name", name, "success", String.valueOf(success)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    protected Timer timer(String metric, String... tags) {
+        return timers.computeIfAbsent(key(metric, tags), k -> Timer.builder(PREFIX + metric)
+                .tags(tags)
+                .register(registry));
+    }
+
+    protected DistributionSummary summary(String metric, String... tags) {
+        return summaries.computeIfAbsent(key(metric, tags), k -> DistributionSummary.builder(PREFIX + metric)
+                .tags(tags)
+                .register(registry));
+    }
+
+    private static String key(String metric, String... tags) {
+        return metric + "|" + String.join("|", tags);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        VaadinMetrics.setRecorder(this);
+    }
+
+    @Override
+    public void destroy() {
+        if (VaadinMetrics.getRecorder() == this) {
+            VaadinMetrics.setRecorder(null);
+        }
+    }
+}
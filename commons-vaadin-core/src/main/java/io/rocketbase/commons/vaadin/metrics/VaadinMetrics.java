@@ -0,0 +1,22 @@
+package io.rocketbase.commons.vaadin.metrics;
+
+/**
+ * static access to the current {@link VaadinMetricsRecorder} - utils like PageableDataProvider are static so they can't get it injected<br>
+ * disabled by default, gets enabled via property commons.vaadin.metrics.enabled=true and a MeterRegistry within the context
+ */
+public abstract class VaadinMetrics {
+
+    private static volatile VaadinMetricsRecorder recorder = VaadinMetricsRecorder.NOOP;
+
+    public static VaadinMetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    public static void setRecorder(VaadinMetricsRecorder recorder) {
+        VaadinMetrics.recorder = recorder != null ? recorder : VaadinMetricsRecorder.NOOP;
+    }
+
+    public static boolean isEnabled() {
+        return recorder != VaadinMetricsRecorder.NOOP;
+    }
+}
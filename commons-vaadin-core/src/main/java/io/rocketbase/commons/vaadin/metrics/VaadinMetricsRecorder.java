@@ -0,0 +1,35 @@
+package io.rocketbase.commons.vaadin.metrics;
+
+/**
+ * receives timings of the hot paths within commons-vaadin<br>
+ * durations are given in nanoseconds - implementations need to be thread-safe
+ */
+public interface VaadinMetricsRecorder {
+
+    VaadinMetricsRecorder NOOP = new VaadinMetricsRecorder() {
+    };
+
+    /**
+     * fetch of one page within a data provider
+     */
+    default void recordFetch(String name, long nanos, int rows) {
+    }
+
+    /**
+     * count query within a data provider
+     */
+    default void recordCount(String name, long nanos, long count) {
+    }
+
+    /**
+     * in-memory filtering of a grid
+     */
+    default void recordFilter(String name, long nanos, int rows) {
+    }
+
+    default void recordTranslation(boolean hit, long nanos) {
+    }
+
+    default void recordTask(String name, long nanos, boolean success) {
+    }
+}
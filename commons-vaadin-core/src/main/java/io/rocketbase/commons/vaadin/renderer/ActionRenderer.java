@@ -0,0 +1,154 @@
+package io.rocketbase.commons.vaadin.renderer;
+
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.icon.IconFactory;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.data.renderer.LitRenderer;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializablePredicate;
+import io.rocketbase.commons.vaadin.component.Buttons;
+import io.rocketbase.commons.vaadin.component.Buttons.ButtonTexts;
+import io.rocketbase.commons.vaadin.component.Buttons.ButtonType;
+import io.rocketbase.commons.vaadin.component.Dialogs;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * renders the action buttons of a grid row purely on the client<br>
+ * no server side button/layout components get created per row - clicks are dispatched by the item key of the row
+ */
+public class ActionRenderer<SOURCE> implements Serializable {
+
+    private final List<Action<SOURCE>> actions = new ArrayList<>();
+
+    public static <SOURCE> ActionRenderer<SOURCE> create() {
+        return new ActionRenderer<>();
+    }
+
+    public ActionRenderer<SOURCE> withAction(ButtonType type, SerializableConsumer<SOURCE> onClick) {
+        return withAction(type, null, onClick);
+    }
+
+    /**
+     * icon with tooltip of the given type - confirm types open the confirm dialog before onClick gets called
+     */
+    public ActionRenderer<SOURCE> withAction(ButtonType type, @Nullable SerializablePredicate<SOURCE> visible, SerializableConsumer<SOURCE> onClick) {
+        ButtonTexts texts = Buttons.resolveTexts(type);
+        SerializableConsumer<SOURCE> effectiveOnClick = onClick;
+        if (type.isConfirm()) {
+            effectiveOnClick = item -> Dialogs.openConfirmDelete(texts.getConfirmYes(),
+                    texts.getConfirmNo(),
+                    texts.getConfirmHeadline(),
+                    texts.getConfirmMessage(),
+                    () -> onClick.accept(item));
+        }
+        actions.add(new Action<>(iconName(type.getIcon()), texts.getTooltip(false), type.getVariants(), visible, effectiveOnClick));
+        return this;
+    }
+
+    public ActionRenderer<SOURCE> withAction(IconFactory icon, @Nullable String tooltip, SerializableConsumer<SOURCE> onClick) {
+        return withAction(icon, tooltip, null, onClick);
+    }
+
+    public ActionRenderer<SOURCE> withAction(IconFactory icon, @Nullable String tooltip, @Nullable SerializablePredicate<SOURCE> visible, SerializableConsumer<SOURCE> onClick) {
+        actions.add(new Action<>(iconName(icon), tooltip, new ButtonVariant[0], visible, onClick));
+        return this;
+    }
+
+    public LitRenderer<SOURCE> build() {
+        StringBuilder template = new StringBuilder("<div style=\"display: flex; justify-content: flex-end; gap: var(--lumo-space-s);\">");
+        for (int i = 0; i < actions.size(); i++) {
+            Action<SOURCE> action = actions.get(i);
+            template.append("<vaadin-button theme=\"")
+                    .append(escape(action.getTheme()))
+                    .append("\"");
+            if (action.tooltip != null) {
+                template.append(" title=\"").append(escape(action.tooltip)).append("\"")
+                        .append(" aria-label=\"").append(escape(action.tooltip)).append("\"");
+            }
+            if (action.visible != null) {
+                template.append(" ?hidden=${!item.visible").append(i).append("}");
+            }
+            template.append(" @click=${() => onAction(").append(i).append(")}>")
+                    .append("<vaadin-icon icon=\"").append(escape(action.icon)).append("\"></vaadin-icon>")
+                    .append("</vaadin-button>");
+        }
+        template.append("</div>");
+
+        LitRenderer<SOURCE> renderer = LitRenderer.<SOURCE>of(template.toString())
+                .withFunction("onAction", (item, args) -> actions.get((int) args.getNumber(0)).onClick.accept(item));
+        for (int i = 0; i < actions.size(); i++) {
+            SerializablePredicate<SOURCE> visible = actions.get(i).visible;
+            if (visible != null) {
+                renderer.withProperty("visible" + i, visible::test);
+            }
+        }
+        return renderer;
+    }
+
+    /**
+     * icon factory gets called once per action to read the icon name instead of once per row
+     */
+    protected static String iconName(IconFactory icon) {
+        if (icon instanceof VaadinIcon) {
+            return IconRenderer.iconName((VaadinIcon) icon);
+        }
+        return icon.create().getElement().getAttribute("icon");
+    }
+
+    /**
+     * texts are placed within a lit template literal so besides html also ` and $ need to get escaped
+     */
+    protected static String escape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '&':
+                    result.append("&amp;");
+                    break;
+                case '<':
+                    result.append("&lt;");
+                    break;
+                case '>':
+                    result.append("&gt;");
+                    break;
+                case '"':
+                    result.append("&quot;");
+                    break;
+                case '`':
+                    result.append("&#96;");
+                    break;
+                case '$':
+                    result.append("&#36;");
+                    break;
+                case '\\':
+                    result.append("&#92;");
+                    break;
+                default:
+                    result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    @RequiredArgsConstructor
+    private static class Action<SOURCE> implements Serializable {
+        private final String icon;
+        private final String tooltip;
+        private final ButtonVariant[] variants;
+        private final SerializablePredicate<SOURCE> visible;
+        private final SerializableConsumer<SOURCE> onClick;
+
+        String getTheme() {
+            return ("icon " + Arrays.stream(variants)
+                    .map(ButtonVariant::getVariantName)
+                    .collect(Collectors.joining(" "))).trim();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.rocketbase.commons.vaadin.renderer;
+
+import com.vaadin.flow.data.renderer.LitRenderer;
+import com.vaadin.flow.function.ValueProvider;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.time.format.FormatStyle;
+import java.util.Locale;
+
+/**
+ * alternative to {@link InstantRenderer} that only sends epoch millis - formatting happens within the browser via
+ * Intl.DateTimeFormat with the time zone and locale of the user<br>
+ * formatters get cached within window.rbDateFormats per style and locale so they are only created once per page
+ */
+public class ClientInstantRenderer {
+
+    private static final String CACHE = "(window.rbDateFormats = window.rbDateFormats || {})";
+
+    /**
+     * short date and time
+     */
+    public static <SOURCE> LitRenderer<SOURCE> create(ValueProvider<SOURCE, Instant> valueProvider) {
+        return create(valueProvider, FormatStyle.SHORT, FormatStyle.SHORT);
+    }
+
+    public static <SOURCE> LitRenderer<SOURCE> create(ValueProvider<SOURCE, Instant> valueProvider, @Nullable FormatStyle dateStyle, @Nullable FormatStyle timeStyle) {
+        return create(valueProvider, dateStyle, timeStyle, null, "");
+    }
+
+    /**
+     * @param dateStyle          null to hide the date
+     * @param timeStyle          null to hide the time
+     * @param locale             null to use the locale of the browser
+     * @param nullRepresentation text shown for null values
+     */
+    public static <SOURCE> LitRenderer<SOURCE> create(ValueProvider<SOURCE, Instant> valueProvider, @Nullable FormatStyle dateStyle, @Nullable FormatStyle timeStyle,
+                                                     @Nullable Locale locale, String nullRepresentation) {
+        if (dateStyle == null && timeStyle == null) {
+            throw new IllegalArgumentException("dateStyle or timeStyle is needed");
+        }
+        StringBuilder options = new StringBuilder("{");
+        if (dateStyle != null) {
+            options.append("dateStyle: '").append(dateStyle.name().toLowerCase()).append("'");
+        }
+        if (timeStyle != null) {
+            options.append(dateStyle != null ? ", " : "").append("timeStyle: '").append(timeStyle.name().toLowerCase()).append("'");
+        }
+        options.append("}");
+        String localeTag = locale != null ? "'" + locale.toLanguageTag() + "'" : "undefined";
+        String cacheKey = (dateStyle != null ? dateStyle.name() : "") + "|" + (timeStyle != null ? timeStyle.name() : "") + "|" + (locale != null ? locale.toLanguageTag() : "");
+
+        String template = "${item.millis == null ? item.empty : (" + CACHE + "['" + cacheKey + "'] || " +
+                "(window.rbDateFormats['" + cacheKey + "'] = new Intl.DateTimeFormat(" + localeTag + ", " + options + "))).format(item.millis)}";
+        return LitRenderer.<SOURCE>of(template)
+                .withProperty("millis", v -> {
+                    Instant instant = valueProvider.apply(v);
+                    return instant != null ? instant.toEpochMilli() : null;
+                })
+                .withProperty("empty", v -> nullRepresentation);
+    }
+}
@@ -1,11 +1,67 @@
 package io.rocketbase.commons.vaadin.renderer;
 
 import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.data.renderer.LitRenderer;
 import com.vaadin.flow.data.renderer.TemplateRenderer;
 import com.vaadin.flow.function.ValueProvider;
 
+import java.util.Locale;
+
+/**
+ * renders icons purely on the client - only the icon name gets sent per row<br>
+ * the names of all {@link VaadinIcon}s are precomputed once so rendering doesn't create any server side component
+ */
 public class IconRenderer<SOURCE, I extends com.vaadin.flow.component.icon.Icon> {
 
+    private static final String[] VAADIN_ICON_NAMES;
+
+    static {
+        VaadinIcon[] icons = VaadinIcon.values();
+        VAADIN_ICON_NAMES = new String[icons.length];
+        for (VaadinIcon icon : icons) {
+            // same naming as new Icon(VaadinIcon)
+            VAADIN_ICON_NAMES[icon.ordinal()] = "vaadin:" + icon.name().toLowerCase(Locale.ENGLISH).replace('_', '-');
+        }
+    }
+
+    private static final String TEMPLATE = "<vaadin-icon icon=\"${item.icon}\"></vaadin-icon>";
+
+    /**
+     * name of the icon as used by the icon attribute (for example vaadin:check)
+     */
+    public static String iconName(VaadinIcon icon) {
+        return VAADIN_ICON_NAMES[icon.ordinal()];
+    }
+
+    public static <SOURCE> LitRenderer<SOURCE> ofVaadinIcon(ValueProvider<SOURCE, VaadinIcon> valueProvider) {
+        return LitRenderer.<SOURCE>of(TEMPLATE)
+                .withProperty("icon", v -> {
+                    VaadinIcon icon = valueProvider.apply(v);
+                    return icon != null ? VAADIN_ICON_NAMES[icon.ordinal()] : "";
+                });
+    }
+
+    /**
+     * @param valueProvider full icon name including the collection (for example lumo:user)
+     */
+    public static <SOURCE> LitRenderer<SOURCE> ofIconName(ValueProvider<SOURCE, String> valueProvider) {
+        return LitRenderer.<SOURCE>of(TEMPLATE)
+                .withProperty("icon", v -> {
+                    String icon = valueProvider.apply(v);
+                    return icon != null ? icon : "";
+                });
+    }
+
+    public static <SOURCE> LitRenderer<SOURCE> ofBoolean(ValueProvider<SOURCE, Boolean> valueProvider) {
+        return ofVaadinIcon(v -> Boolean.TRUE.equals(valueProvider.apply(v)) ? VaadinIcon.CHECK_CIRCLE : VaadinIcon.CLOSE);
+    }
+
+    /**
+     * creates an icon component per row only to read its name - kept with its TemplateRenderer signature for compatibility
+     *
+     * @deprecated use {@link #ofVaadinIcon(ValueProvider)} or {@link #ofIconName(ValueProvider)}
+     */
+    @Deprecated
     public static <SOURCE, I extends com.vaadin.flow.component.icon.Icon> TemplateRenderer<SOURCE> create(ValueProvider<SOURCE, I> valueProvider) {
         return TemplateRenderer.<SOURCE>of("<iron-icon icon$='[[item.icon]]'></iron-icon>")
                 .withProperty("icon", v -> {
@@ -17,8 +73,13 @@ public class IconRenderer<SOURCE, I extends com.vaadin.flow.component.icon.Icon>
                 });
     }
 
+    /**
+     * @deprecated use {@link #ofBoolean(ValueProvider)}
+     */
+    @Deprecated
     public static <SOURCE> TemplateRenderer<SOURCE> createBoolean(ValueProvider<SOURCE, Boolean> valueProvider) {
-        return create(v -> valueProvider.apply(v) ? VaadinIcon.CHECK_CIRCLE.create() : VaadinIcon.CLOSE.create());
+        return TemplateRenderer.<SOURCE>of("<iron-icon icon$='[[item.icon]]'></iron-icon>")
+                .withProperty("icon", v -> iconName(Boolean.TRUE.equals(valueProvider.apply(v)) ? VaadinIcon.CHECK_CIRCLE : VaadinIcon.CLOSE));
     }
 
 }
@@ -0,0 +1,162 @@
+package io.rocketbase.commons.vaadin.renderer;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.renderer.BasicRenderer;
+import com.vaadin.flow.data.renderer.LitRenderer;
+import com.vaadin.flow.function.ValueProvider;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * renders numbers, currencies and percentages with the locale of the ui<br>
+ * NumberFormat isn't thread-safe and expensive to create - one instance per (style, locale, currency, digits) is shared
+ * and used under its own lock, format() is short so cells don't allocate any formatter. {@link Style#INTEGER} ignores
+ * fractionDigits on both sides.
+ * {@link #client(ValueProvider, Style, Currency, Integer)} formats within the browser via Intl.NumberFormat instead.
+ */
+public class NumberRenderer<SOURCE> extends BasicRenderer<SOURCE, Number> {
+
+    public enum Style {
+        NUMBER("decimal"),
+        INTEGER("decimal"),
+        CURRENCY("currency"),
+        PERCENT("percent");
+
+        private final String intlStyle;
+
+        Style(String intlStyle) {
+            this.intlStyle = intlStyle;
+        }
+    }
+
+    private static final Map<FormatKey, NumberFormat> FORMATS = new ConcurrentHashMap<>();
+
+    private static final String CACHE = "(window.rbNumberFormats = window.rbNumberFormats || {})";
+
+    private final Style style;
+    @Nullable
+    private final Currency currency;
+    @Nullable
+    private final Integer fractionDigits;
+    private final String nullRepresentation;
+
+    public NumberRenderer(ValueProvider<SOURCE, ? extends Number> valueProvider, Style style) {
+        this(valueProvider, style, null, null, "");
+    }
+
+    /**
+     * @param currency       needed for {@link Style#CURRENCY}
+     * @param fractionDigits null to use the default of the style
+     */
+    @SuppressWarnings("unchecked")
+    public NumberRenderer(ValueProvider<SOURCE, ? extends Number> valueProvider, Style style, @Nullable Currency currency,
+                          @Nullable Integer fractionDigits, String nullRepresentation) {
+        super((ValueProvider<SOURCE, Number>) valueProvider);
+        if (style == Style.CURRENCY && currency == null) {
+            throw new IllegalArgumentException("currency may not be null");
+        }
+        this.style = style;
+        this.currency = currency;
+        this.fractionDigits = style == Style.INTEGER ? null : fractionDigits;
+        this.nullRepresentation = nullRepresentation;
+    }
+
+    public static <SOURCE> NumberRenderer<SOURCE> number(ValueProvider<SOURCE, ? extends Number> valueProvider) {
+        return new NumberRenderer<>(valueProvider, Style.NUMBER);
+    }
+
+    public static <SOURCE> NumberRenderer<SOURCE> currency(ValueProvider<SOURCE, ? extends Number> valueProvider, Currency currency) {
+        return new NumberRenderer<>(valueProvider, Style.CURRENCY, currency, null, "");
+    }
+
+    /**
+     * values are fractions - 0.25 gets rendered as 25%
+     */
+    public static <SOURCE> NumberRenderer<SOURCE> percent(ValueProvider<SOURCE, ? extends Number> valueProvider) {
+        return new NumberRenderer<>(valueProvider, Style.PERCENT);
+    }
+
+    /**
+     * only the raw number gets sent - formatted within the browser by a cached Intl.NumberFormat of the browser locale
+     */
+    public static <SOURCE> LitRenderer<SOURCE> client(ValueProvider<SOURCE, ? extends Number> valueProvider, Style style,
+                                                      @Nullable Currency currency, @Nullable Integer fractionDigits) {
+        if (style == Style.CURRENCY && currency == null) {
+            throw new IllegalArgumentException("currency may not be null");
+        }
+        StringBuilder options = new StringBuilder("{style: '").append(style.intlStyle).append("'");
+        if (currency != null) {
+            options.append(", currency: '").append(currency.getCurrencyCode()).append("'");
+        }
+        Integer digits = style == Style.INTEGER ? Integer.valueOf(0) : fractionDigits;
+        if (digits != null) {
+            options.append(", minimumFractionDigits: ").append(digits)
+                    .append(", maximumFractionDigits: ").append(digits);
+        }
+        options.append("}");
+        String cacheKey = style.name() + "|" + (currency != null ? currency.getCurrencyCode() : "") + "|" + (digits != null ? digits : "");
+
+        String template = "${item.value == null ? '' : (" + CACHE + "['" + cacheKey + "'] || " +
+                "(window.rbNumberFormats['" + cacheKey + "'] = new Intl.NumberFormat(undefined, " + options + "))).format(item.value)}";
+        return LitRenderer.<SOURCE>of(template)
+                .withProperty("value", valueProvider::apply);
+    }
+
+    @Override
+    protected String getFormattedValue(Number value) {
+        if (value == null) {
+            return nullRepresentation;
+        }
+        UI ui = UI.getCurrent();
+        NumberFormat format = getFormat(ui != null ? ui.getLocale() : Locale.getDefault());
+        synchronized (format) {
+            return format.format(value);
+        }
+    }
+
+    /**
+     * shared instance - needs to be used within synchronized (format)
+     */
+    protected NumberFormat getFormat(Locale locale) {
+        return FORMATS.computeIfAbsent(new FormatKey(style, locale, currency, fractionDigits), NumberRenderer::createFormat);
+    }
+
+    protected static NumberFormat createFormat(FormatKey key) {
+        NumberFormat format;
+        switch (key.style) {
+            case INTEGER:
+                format = NumberFormat.getIntegerInstance(key.locale);
+                break;
+            case CURRENCY:
+                format = NumberFormat.getCurrencyInstance(key.locale);
+                format.setCurrency(key.currency);
+                break;
+            case PERCENT:
+                format = NumberFormat.getPercentInstance(key.locale);
+                break;
+            default:
+                format = NumberFormat.getNumberInstance(key.locale);
+        }
+        if (key.fractionDigits != null && key.style != Style.INTEGER) {
+            format.setMinimumFractionDigits(key.fractionDigits);
+            format.setMaximumFractionDigits(key.fractionDigits);
+        }
+        return format;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    protected static class FormatKey {
+        private final Style style;
+        private final Locale locale;
+        private final Currency currency;
+        private final Integer fractionDigits;
+    }
+}
@@ -0,0 +1,237 @@
+package io.rocketbase.commons.vaadin.util;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.grid.FooterRow;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.function.ValueProvider;
+import io.rocketbase.commons.vaadin.data.PageableDataProvider;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.*;
+
+/**
+ * footer aggregates (sum/avg/min/max/count) of grid columns<br>
+ * in-memory grids get them computed by {@link GridFilterUtil} within the same pass as the filtering, lazy grids delegate
+ * to a backend callback that gets called together with the count query (see {@link #count(PageableDataProvider.CountPagableApi, AggregateApi)}).
+ */
+public class GridAggregates<T> implements Serializable {
+
+    public enum Aggregate {
+        SUM("aggregateSum"),
+        AVG("aggregateAvg"),
+        MIN("aggregateMin"),
+        MAX("aggregateMax"),
+        COUNT("aggregateCount");
+
+        @Getter
+        private final String translationKey;
+
+        Aggregate(String translationKey) {
+            this.translationKey = translationKey;
+        }
+    }
+
+    /**
+     * backend aggregates of the current filter keyed by the key of the column
+     */
+    public interface AggregateApi<T, F> {
+        Map<String, Number> aggregate(Query<T, F> query);
+    }
+
+    private final Grid<T> grid;
+
+    /**
+     * own footer row so that aggregates never collide with the {@link io.rocketbase.commons.vaadin.component.TotalCount} of {@link GridUtil#getTotalCount(Grid)}
+     */
+    @Getter
+    private FooterRow footerRow;
+    private final List<Registration> registrations = new ArrayList<>();
+    private final Map<Aggregate, MessageFormat> formats = new EnumMap<>(Aggregate.class);
+    private NumberFormat numberFormat;
+
+    protected GridAggregates(Grid<T> grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * aggregates of the grid - gets created on first call
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> GridAggregates<T> of(Grid<T> grid) {
+        GridAggregates<T> aggregates = ComponentUtil.getData(grid, GridAggregates.class);
+        if (aggregates == null) {
+            aggregates = new GridAggregates<>(grid);
+            ComponentUtil.setData(grid, GridAggregates.class, aggregates);
+        }
+        return aggregates;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> GridAggregates<T> find(Grid<T> grid) {
+        return ComponentUtil.getData(grid, GridAggregates.class);
+    }
+
+    /**
+     * in-memory aggregate of the value provider
+     */
+    public GridAggregates<T> add(Grid.Column<T> column, ValueProvider<T, ? extends Number> valueProvider, Aggregate aggregate) {
+        registrations.add(new Registration(column, valueProvider, aggregate, createSpan(column)));
+        return this;
+    }
+
+    /**
+     * backend aggregate - gets filled by the value of the column key within the result of the {@link AggregateApi}
+     */
+    public GridAggregates<T> add(Grid.Column<T> column, Aggregate aggregate) {
+        if (column.getKey() == null) {
+            throw new IllegalArgumentException("backend aggregates need a column key");
+        }
+        registrations.add(new Registration(column, null, aggregate, createSpan(column)));
+        return this;
+    }
+
+    /**
+     * count callback that fetches the aggregates of the same query - both only get called when the filter changes
+     */
+    public <F> CallbackDataProvider.CountCallback<T, F> count(PageableDataProvider.CountPagableApi<T, F> countApi, AggregateApi<T, F> aggregateApi) {
+        return query -> {
+            int total = (int) countApi.sizeInBackEnd(query, PageRequest.of(0, 1)).getTotalElements();
+            update(aggregateApi.aggregate(query));
+            return total;
+        };
+    }
+
+    public void update(Map<String, Number> values) {
+        for (Registration registration : registrations) {
+            if (registration.valueProvider == null) {
+                registration.show(values.get(registration.column.getKey()));
+            }
+        }
+    }
+
+    public boolean hasInMemoryAggregates() {
+        return registrations.stream().anyMatch(r -> r.valueProvider != null);
+    }
+
+    /**
+     * collects the in-memory aggregates of the items passed to accept
+     */
+    public Accumulator accumulate() {
+        return new Accumulator();
+    }
+
+    protected Span createSpan(Grid.Column<T> column) {
+        if (footerRow == null) {
+            footerRow = grid.appendFooterRow();
+        }
+        Span span = new Span();
+        span.addClassName("aggregate");
+        footerRow.getCell(column).setComponent(span);
+        return span;
+    }
+
+    protected String format(Aggregate aggregate, @Nullable Number value) {
+        UI ui = UI.getCurrent();
+        if (numberFormat == null) {
+            numberFormat = NumberFormat.getNumberInstance(ui != null ? ui.getLocale() : Locale.getDefault());
+        }
+        MessageFormat format = formats.computeIfAbsent(aggregate, a -> {
+            String pattern = ui != null ? ui.getTranslation(a.getTranslationKey()) : null;
+            return new MessageFormat(pattern != null ? pattern : "{0}", ui != null ? ui.getLocale() : Locale.getDefault());
+        });
+        return format.format(new Object[]{value != null ? numberFormat.format(value) : "-"});
+    }
+
+    public class Accumulator {
+        private final long[] counts = new long[registrations.size()];
+        private final double[] sums = new double[registrations.size()];
+        private final double[] mins = new double[registrations.size()];
+        private final double[] maxs = new double[registrations.size()];
+
+        private Accumulator() {
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        }
+
+        public void accept(T item) {
+            for (int i = 0; i < counts.length; i++) {
+                ValueProvider<T, ? extends Number> valueProvider = registrations.get(i).valueProvider;
+                if (valueProvider == null) {
+                    continue;
+                }
+                Number value = valueProvider.apply(item);
+                if (value == null) {
+                    continue;
+                }
+                double v = value.doubleValue();
+                counts[i]++;
+                sums[i] += v;
+                if (v < mins[i]) {
+                    mins[i] = v;
+                }
+                if (v > maxs[i]) {
+                    maxs[i] = v;
+                }
+            }
+        }
+
+        /**
+         * writes the results into the footer
+         */
+        public void apply() {
+            for (int i = 0; i < counts.length; i++) {
+                Registration registration = registrations.get(i);
+                if (registration.valueProvider == null) {
+                    continue;
+                }
+                Number result;
+                switch (registration.aggregate) {
+                    case SUM:
+                        result = sums[i];
+                        break;
+                    case AVG:
+                        result = counts[i] > 0 ? sums[i] / counts[i] : null;
+                        break;
+                    case MIN:
+                        result = counts[i] > 0 ? mins[i] : null;
+                        break;
+                    case MAX:
+                        result = counts[i] > 0 ? maxs[i] : null;
+                        break;
+                    default:
+                        result = counts[i];
+                }
+                registration.show(result);
+            }
+        }
+    }
+
+    private class Registration implements Serializable {
+        private final Grid.Column<T> column;
+        @Nullable
+        private final ValueProvider<T, ? extends Number> valueProvider;
+        private final Aggregate aggregate;
+        private final Span span;
+
+        Registration(Grid.Column<T> column, @Nullable ValueProvider<T, ? extends Number> valueProvider, Aggregate aggregate, Span span) {
+            this.column = column;
+            this.valueProvider = valueProvider;
+            this.aggregate = aggregate;
+            this.span = span;
+        }
+
+        void show(@Nullable Number value) {
+            span.setText(format(aggregate, value));
+        }
+    }
+}
@@ -2,11 +2,16 @@ package io.rocketbase.commons.vaadin.util;
 
 import com.vaadin.flow.component.HasValue;
 import com.vaadin.flow.component.ItemLabelGenerator;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.HeaderRow;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.page.ExtendedClientDetails;
+import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.component.textfield.TextFieldVariant;
 import com.vaadin.flow.data.provider.ListDataProvider;
 import com.vaadin.flow.data.provider.Query;
@@ -14,7 +19,11 @@ import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.function.SerializablePredicate;
 import com.vaadin.flow.function.ValueProvider;
 import io.rocketbase.commons.util.Nulls;
+import io.rocketbase.commons.vaadin.data.ComboBoxDataProvider;
+import io.rocketbase.commons.vaadin.data.SortIndexedListDataProvider;
+import io.rocketbase.commons.vaadin.metrics.VaadinMetrics;
 import lombok.Getter;
+import lombok.Setter;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -24,6 +33,10 @@ import org.vaadin.firitin.components.combobox.VComboBox;
 import org.vaadin.firitin.components.textfield.VNumberField;
 import org.vaadin.firitin.components.textfield.VTextField;
 
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -41,8 +54,34 @@ public class GridFilterUtil<T> {
     protected HeaderRow filterRow;
     protected Set<HasValue> filterComponents;
     protected List<Consumer<Collection<T>>> itemsConsumers;
+    /**
+     * gets called after single items got added, removed or refreshed - used to update indexed filters
+     */
+    protected List<Runnable> itemsChangedListeners;
     protected Map<Grid.Column<T>, Pair<ValueProvider<T, ?>, SerializablePredicate<?>>> columnFilters;
 
+    /**
+     * value providers of all text filters - used by the quick search when no explicit providers are given
+     */
+    protected List<ValueProvider<T, String>> textValueProviders;
+
+    protected TrigramIndex<T> quickSearchIndex;
+    protected String quickSearchTerm;
+    protected SerializablePredicate<T> quickSearchFilter;
+
+    /**
+     * matches and active predicates of the latest aggregation - used to narrow the next pass
+     */
+    protected List<T> lastMatches;
+    protected Set<Object> lastPredicates;
+
+    /**
+     * used to tag the filter metrics - defaults to the id of the grid
+     */
+    @Getter
+    @Setter
+    protected String name;
+
 
     static final class Pair<S, T> {
 
@@ -155,6 +194,23 @@ public class GridFilterUtil<T> {
         }
     }
 
+    public enum InstantRangePreset {
+        LAST_24_HOURS(Duration.ofHours(24), "instantRangeLast24Hours"),
+        LAST_7_DAYS(Duration.ofDays(7), "instantRangeLast7Days"),
+        LAST_30_DAYS(Duration.ofDays(30), "instantRangeLast30Days");
+
+        @Getter
+        private Duration duration;
+
+        @Getter
+        private String translationKey;
+
+        InstantRangePreset(Duration duration, String translationKey) {
+            this.duration = duration;
+            this.translationKey = translationKey;
+        }
+    }
+
     public enum StringEquals {
         CONTAINS("*"),
         BEGINS("begins"),
@@ -177,8 +233,11 @@ public class GridFilterUtil<T> {
         }
 
         itemsConsumers = new ArrayList<>();
+        itemsChangedListeners = new ArrayList<>();
         columnFilters = new HashMap<>();
         filterComponents = new HashSet<>();
+        textValueProviders = new ArrayList<>();
+        name = grid.getId().orElse(grid.getClass().getSimpleName());
     }
 
     public Grid.Column<T> addTextFilter(Grid.Column<T> column, ValueProvider<T, String> valueProvider) {
@@ -187,6 +246,7 @@ public class GridFilterUtil<T> {
 
     public Grid.Column<T> addTextFilter(Grid.Column<T> column, ValueProvider<T, String> valueProvider, StringEquals... comparators) {
         checkInitFilterRow();
+        textValueProviders.add(valueProvider);
 
         Set<StringEquals> comparatorOptions = new LinkedHashSet<>();
         if (comparators != null && comparators.length > 0) {
@@ -250,6 +310,189 @@ public class GridFilterUtil<T> {
         return column;
     }
 
+    /**
+     * global search across the text values of all text filters added so far
+     */
+    public TextField addQuickSearch() {
+        return addQuickSearch(new ArrayList<>(textValueProviders));
+    }
+
+    /**
+     * search field that filters by a substring of any of the given values - needs to get placed by the caller<br>
+     * backed by a trigram index that gets rebuilt on setItems and updated by addItem/removeItem/refreshItem
+     */
+    public TextField addQuickSearch(List<ValueProvider<T, String>> valueProviders) {
+        quickSearchIndex = new TrigramIndex<>(valueProviders);
+        Consumer<Collection<T>> consumer = items -> {
+            quickSearchIndex.rebuild(items);
+            quickSearchFilter = null;
+            quickSearchTerm = null;
+        };
+        itemsConsumers.add(consumer);
+        // initialize
+        consumer.accept(((ListDataProvider<T>) grid.getDataProvider()).getItems());
+
+        VTextField textField = new VTextField().withClearButtonVisible(true)
+                .withThemeVariants(TextFieldVariant.LUMO_SMALL)
+                .withValueChangeMode(ValueChangeMode.LAZY)
+                .withValueChangeTimeout(200)
+                .withValueChangeListener(e -> {
+                    quickSearchTerm = StringUtils.hasText(e.getValue()) ? e.getValue().trim() : null;
+                    updateQuickSearch();
+                    updateFilter();
+                });
+        filterComponents.add(textField);
+        return textField;
+    }
+
+    protected void updateQuickSearch() {
+        if (quickSearchIndex == null || quickSearchTerm == null) {
+            quickSearchFilter = null;
+            return;
+        }
+        Set<T> matches = quickSearchIndex.search(quickSearchTerm);
+        quickSearchFilter = matches::contains;
+    }
+
+    public void addItem(T item) {
+        lastMatches = null;
+        ((ListDataProvider<T>) grid.getDataProvider()).getItems().add(item);
+        if (quickSearchIndex != null) {
+            quickSearchIndex.add(item);
+            updateQuickSearch();
+        }
+        itemsChangedListeners.forEach(Runnable::run);
+        updateFilter();
+    }
+
+    public void removeItem(T item) {
+        lastMatches = null;
+        ((ListDataProvider<T>) grid.getDataProvider()).getItems().remove(item);
+        if (quickSearchIndex != null) {
+            quickSearchIndex.remove(item);
+            updateQuickSearch();
+        }
+        itemsChangedListeners.forEach(Runnable::run);
+        updateFilter();
+    }
+
+    /**
+     * needs to get called after values of the item changed
+     */
+    public void refreshItem(T item) {
+        lastMatches = null;
+        boolean filterChanged = !itemsChangedListeners.isEmpty() || GridAggregates.find(grid) != null;
+        if (quickSearchIndex != null) {
+            quickSearchIndex.update(item);
+            if (quickSearchTerm != null) {
+                updateQuickSearch();
+                filterChanged = true;
+            }
+        }
+        itemsChangedListeners.forEach(Runnable::run);
+        if (filterChanged) {
+            updateFilter();
+        }
+        grid.getDataProvider().refreshItem(item);
+    }
+
+    /**
+     * range filter with from/to date pickers and relative presets - backed by an {@link InstantRangeIndex}<br>
+     * the picked days get interpreted within the time zone of the browser (server zone until the browser reported it)
+     */
+    public Grid.Column<T> addInstantRangeFilter(Grid.Column<T> column, ValueProvider<T, Instant> valueProvider) {
+        return addInstantRangeFilter(column, valueProvider, null);
+    }
+
+    /**
+     * @param zoneId time zone of the picked days - null for the zone of the browser
+     */
+    public Grid.Column<T> addInstantRangeFilter(Grid.Column<T> column, ValueProvider<T, Instant> valueProvider, @Nullable ZoneId zoneId) {
+        checkInitFilterRow();
+
+        UI ui = UI.getCurrent();
+        if (zoneId == null && ui != null && ui.getInternals().getExtendedClientDetails() == null) {
+            ui.getPage().retrieveExtendedClientDetails(details -> {
+            });
+        }
+        InstantRangeIndex<T> index = new InstantRangeIndex<>(valueProvider);
+
+        VComboBox<InstantRangePreset> presetSelect = new VComboBox<InstantRangePreset>(null, Arrays.asList(InstantRangePreset.values()))
+                .withClearButtonVisible(true)
+                .withThemeSmall()
+                .withItemLabelGenerator(p -> ui != null ? ui.getTranslation(p.getTranslationKey()) : p.name())
+                .withWidth("140px");
+        DatePicker fromPicker = new DatePicker();
+        DatePicker toPicker = new DatePicker();
+        for (DatePicker picker : Arrays.asList(fromPicker, toPicker)) {
+            picker.setClearButtonVisible(true);
+            picker.setWidth("130px");
+            picker.getElement().getThemeList().add("small");
+        }
+        if (ui != null) {
+            fromPicker.setPlaceholder(ui.getTranslation("instantRangeFrom"));
+            toPicker.setPlaceholder(ui.getTranslation("instantRangeTo"));
+        }
+
+        Runnable filter = () -> {
+            InstantRangePreset preset = presetSelect.getValue();
+            Instant from = null;
+            Instant to = null;
+            if (preset != null) {
+                from = Instant.now().minus(preset.getDuration());
+            } else {
+                ZoneId zone = zoneId != null ? zoneId : getClientZoneId(ui);
+                from = fromPicker.getValue() != null ? fromPicker.getValue().atStartOfDay(zone).toInstant() : null;
+                to = toPicker.getValue() != null ? toPicker.getValue().plusDays(1).atStartOfDay(zone).toInstant() : null;
+            }
+            if (from == null && to == null) {
+                columnFilters.remove(column);
+            } else {
+                Set<T> matches = index.range(from, to);
+                columnFilters.put(column, Pair.of((ValueProvider<T, T>) item -> item, (SerializablePredicate<T>) matches::contains));
+            }
+        };
+
+        presetSelect.addValueChangeListener(e -> {
+            if (e.getValue() != null) {
+                // presets replace an explicit range
+                fromPicker.clear();
+                toPicker.clear();
+            }
+            filter.run();
+            updateFilter();
+        });
+        for (DatePicker picker : Arrays.asList(fromPicker, toPicker)) {
+            picker.addValueChangeListener(e -> {
+                if (e.getValue() != null) {
+                    presetSelect.clear();
+                }
+                filter.run();
+                updateFilter();
+            });
+        }
+
+        Consumer<Collection<T>> consumer = index::rebuild;
+        itemsConsumers.add(consumer);
+        // initialize
+        consumer.accept(((ListDataProvider<T>) grid.getDataProvider()).getItems());
+        itemsChangedListeners.add(() -> {
+            index.rebuild(((ListDataProvider<T>) grid.getDataProvider()).getItems());
+            filter.run();
+        });
+
+        filterComponents.add(presetSelect);
+        filterComponents.add(fromPicker);
+        filterComponents.add(toPicker);
+
+        HorizontalLayout layout = new HorizontalLayout(presetSelect, fromPicker, toPicker);
+        layout.setSpacing(false);
+        layout.setPadding(false);
+        filterRow.getCell(column)
+                .setComponent(layout);
+        return column;
+    }
+
     public Grid.Column<T> addNumberFilter(Grid.Column<T> column, ValueProvider<T, ? extends Number> valueProvider) {
         return this.addNumberFilter(column, valueProvider, NumberEquals.GTE);
     }
@@ -258,28 +501,23 @@ public class GridFilterUtil<T> {
         checkInitFilterRow();
 
         AtomicInteger currentIndex = new AtomicInteger(initalState.ordinal());
+        NumberColumnIndex<T> index = new NumberColumnIndex<>(valueProvider);
 
         Consumer<Double> filter = (value) -> {
             if (!StringUtils.isEmpty(value)) {
-                columnFilters.put(column, Pair.of(valueProvider, (SerializablePredicate<? extends Number>) s -> {
-                    if (s == null) {
-                        return false;
-                    }
-                    switch (currentIndex.get()) {
-                        case 0:
-                            return s.doubleValue() >= value.doubleValue();
-                        case 1:
-                            return s.doubleValue() <= value.doubleValue();
-                        default:
-                            return s.doubleValue() == value.doubleValue();
-                    }
-                }));
+                Set<T> matches = index.matching(NumberEquals.values()[currentIndex.get()], value);
+                columnFilters.put(column, Pair.of((ValueProvider<T, T>) item -> item, (SerializablePredicate<T>) matches::contains));
             } else {
                 columnFilters.remove(column);
             }
             updateFilter();
         };
 
+        Consumer<Collection<T>> consumer = index::rebuild;
+        itemsConsumers.add(consumer);
+        // initialize
+        consumer.accept(((ListDataProvider<T>) grid.getDataProvider()).getItems());
+
         VNumberField numberField = new VNumberField()
                 .withClearButtonVisible(true)
                 .withFullWidth()
@@ -295,6 +533,13 @@ public class GridFilterUtil<T> {
 
         numberField.addValueChangeListener(e -> filter.accept((e.getValue())));
         numberField.setPrefixComponent(compareTypeButton);
+        itemsChangedListeners.add(() -> {
+            index.rebuild(((ListDataProvider<T>) grid.getDataProvider()).getItems());
+            if (numberField.getValue() != null) {
+                Set<T> matches = index.matching(NumberEquals.values()[currentIndex.get()], numberField.getValue());
+                columnFilters.put(column, Pair.of((ValueProvider<T, T>) item -> item, (SerializablePredicate<T>) matches::contains));
+            }
+        });
 
         numberField.addThemeVariants(TextFieldVariant.LUMO_SMALL, TextFieldVariant.LUMO_ALIGN_RIGHT);
         numberField.setValueChangeTimeout(200);
@@ -351,6 +596,49 @@ public class GridFilterUtil<T> {
         return column;
     }
 
+    /**
+     * options get loaded lazily while typing instead of collecting the distinct values of all items
+     */
+    public <V> Grid.Column<T> addEqualFilter(Grid.Column<T> column, ValueProvider<T, V> valueProvider, ComboBoxDataProvider<V> options, @Nullable ItemLabelGenerator<V> itemLabelGenerator) {
+        checkInitFilterRow();
+
+        VComboBox<V> comboBox = new VComboBox<V>()
+                .withClearButtonVisible(true)
+                .withFullWidth()
+                .withThemeSmall();
+        if (itemLabelGenerator != null) {
+            comboBox.setItemLabelGenerator(itemLabelGenerator);
+        }
+        comboBox.setItems(options);
+
+        comboBox.addValueChangeListener(e -> {
+            if (e.getValue() != null) {
+                columnFilters.put(column, Pair.of(valueProvider, (SerializablePredicate) v -> e.getValue().equals(v)));
+            } else {
+                columnFilters.remove(column);
+            }
+            updateFilter();
+        });
+
+        filterComponents.add(comboBox);
+
+        filterRow.getCell(column)
+                .setComponent(comboBox);
+        return column;
+    }
+
+    protected static ZoneId getClientZoneId(@Nullable UI ui) {
+        ExtendedClientDetails details = ui != null ? ui.getInternals().getExtendedClientDetails() : null;
+        if (details != null && details.getTimeZoneId() != null) {
+            try {
+                return ZoneId.of(details.getTimeZoneId());
+            } catch (DateTimeException e) {
+                // unknown zone id of the browser
+            }
+        }
+        return ZoneId.systemDefault();
+    }
+
     /**
      * needs to get triggered after first column attach otherwise headerrow will be just one without caption
      */
@@ -361,12 +649,54 @@ public class GridFilterUtil<T> {
     }
 
     protected void updateFilter() {
+        long start = System.nanoTime();
         ListDataProvider<T> dataProvider = (ListDataProvider<T>) grid.getDataProvider();
         dataProvider.clearFilters();
         for (Pair<ValueProvider<T, ?>, SerializablePredicate<?>> filterPair : columnFilters.values()) {
             dataProvider.addFilter((ValueProvider) filterPair.getFirst(), (SerializablePredicate) filterPair.getSecond());
         }
-        GridUtil.setTotal(grid, dataProvider.size(new Query<>(dataProvider.getFilter())));
+        if (quickSearchFilter != null) {
+            dataProvider.addFilter(quickSearchFilter);
+        }
+        GridAggregates<T> aggregates = GridAggregates.find(grid);
+        int total;
+        if (aggregates != null && aggregates.hasInMemoryAggregates()) {
+            total = filterAndAggregate(dataProvider, aggregates);
+        } else {
+            lastMatches = null;
+            total = dataProvider.size(new Query<>(dataProvider.getFilter()));
+        }
+        if (VaadinMetrics.isEnabled()) {
+            VaadinMetrics.getRecorder().recordFilter(name, System.nanoTime() - start, total);
+        }
+        GridUtil.setTotal(grid, total);
+    }
+
+    /**
+     * counts the filtered items and aggregates them within the same pass<br>
+     * when all previous filters are still active (filters got only added) just the previous matches get checked
+     */
+    protected int filterAndAggregate(ListDataProvider<T> dataProvider, GridAggregates<T> aggregates) {
+        Set<Object> predicates = Collections.newSetFromMap(new IdentityHashMap<>());
+        columnFilters.values().forEach(pair -> predicates.add(pair.getSecond()));
+        if (quickSearchFilter != null) {
+            predicates.add(quickSearchFilter);
+        }
+        Collection<T> candidates = lastMatches != null && predicates.containsAll(lastPredicates) ? lastMatches : dataProvider.getItems();
+
+        SerializablePredicate<T> filter = dataProvider.getFilter();
+        GridAggregates<T>.Accumulator accumulator = aggregates.accumulate();
+        List<T> matches = new ArrayList<>();
+        for (T item : candidates) {
+            if (filter == null || filter.test(item)) {
+                matches.add(item);
+                accumulator.accept(item);
+            }
+        }
+        accumulator.apply();
+        lastMatches = matches;
+        lastPredicates = predicates;
+        return matches.size();
     }
 
     public void clearFilters() {
@@ -374,6 +704,7 @@ public class GridFilterUtil<T> {
     }
 
     public void reset() {
+        lastMatches = null;
         clearFilters();
         updateFilter();
 
@@ -386,10 +717,31 @@ public class GridFilterUtil<T> {
     }
 
     public void setItems(Collection<T> items) {
-        grid.setItems(items);
+        if (grid.getDataProvider() instanceof SortIndexedListDataProvider) {
+            grid.setItems(((SortIndexedListDataProvider<T>) grid.getDataProvider()).withItems(items));
+        } else {
+            grid.setItems(items);
+        }
         reset();
     }
 
+    /**
+     * sorts the column via a cached permutation of precomputed sort keys - see {@link SortIndexedListDataProvider}<br>
+     * should get registered before any filter as the dataProvider of the grid gets replaced
+     */
+    public Grid.Column<T> addSortIndex(Grid.Column<T> column, ValueProvider<T, ?> valueProvider) {
+        ListDataProvider<T> dataProvider = (ListDataProvider<T>) grid.getDataProvider();
+        SortIndexedListDataProvider<T> indexed;
+        if (dataProvider instanceof SortIndexedListDataProvider) {
+            indexed = (SortIndexedListDataProvider<T>) dataProvider;
+        } else {
+            indexed = new SortIndexedListDataProvider<>(grid, dataProvider.getItems());
+            grid.setItems(indexed);
+        }
+        indexed.withSortKey(column, valueProvider);
+        return column;
+    }
+
     public void deselectAll() {
         grid.deselectAll();
     }
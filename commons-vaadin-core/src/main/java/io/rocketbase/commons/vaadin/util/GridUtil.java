@@ -1,33 +1,33 @@
 package io.rocketbase.commons.vaadin.util;
 
+import com.vaadin.flow.component.ComponentUtil;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.grid.ColumnTextAlign;
 import com.vaadin.flow.component.grid.FooterRow;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.GridVariant;
 import com.vaadin.flow.component.grid.contextmenu.GridContextMenu;
+import com.vaadin.flow.component.grid.dataview.GridLazyDataView;
+import com.vaadin.flow.data.provider.InMemoryDataProvider;
 import com.vaadin.flow.function.ValueProvider;
-import io.rocketbase.commons.vaadin.renderer.InstantRenderer;
-import org.vaadin.firitin.components.html.VLabel;
+import io.rocketbase.commons.vaadin.component.TotalCount;
+import io.rocketbase.commons.vaadin.data.PageableDataProvider;
+import io.rocketbase.commons.vaadin.renderer.ClientInstantRenderer;
 
 import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.time.format.FormatStyle;
-import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class GridUtil<T> {
 
-    private static DateTimeFormatter DATE_TIME_SHORT_FORMAT = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT)
-            .withZone(ZoneId.systemDefault());
 
     public static <T> Grid<T> addModified(Grid<T> grid, ValueProvider<T, Instant> modified, ValueProvider<T, String> modifiedBy) {
-        grid.addColumn(new InstantRenderer<>(modified, DATE_TIME_SHORT_FORMAT))
+        grid.addColumn(ClientInstantRenderer.create(modified))
                 .setHeader(UI.getCurrent().getTranslation("modified"))
                 .setAutoWidth(false)
                 .setFlexGrow(0)
                 .setSortable(true)
-                .setComparator(modifiedBy)
+                .setComparator(modified)
                 .setWidth("160px");
         grid.addColumn(modifiedBy)
                 .setHeader(UI.getCurrent().getTranslation("modifiedBy"))
@@ -51,7 +51,14 @@ public abstract class GridUtil<T> {
         column.setVisible(false);
 
         GridContextMenu<T> contextMenu = new GridContextMenu<>(grid);
-        contextMenu.addItem("toggleId", e -> grid.getColumnByKey("id").setVisible(!grid.getColumnByKey("id").isVisible()));
+        contextMenu.addItem("toggleId", e -> {
+            Grid.Column<T> idColumn = grid.getColumnByKey("id");
+            idColumn.setVisible(!idColumn.isVisible());
+            if (idColumn.isVisible() && !(grid.getDataProvider() instanceof InMemoryDataProvider)) {
+                // lazy backends may use a projection of the visible columns - reload to get the id
+                grid.getDataProvider().refreshAll();
+            }
+        });
         contextMenu.setDynamicContentHandler(selection -> {
             if (selection == null) {
                 return true;
@@ -66,22 +73,69 @@ public abstract class GridUtil<T> {
     }
 
     public static <T> Grid<T> setTotal(Grid<T> grid, int total) {
-        List<FooterRow> footerRows = grid.getFooterRows();
-        FooterRow footerRow;
-        if (footerRows.isEmpty()) {
-            grid.addClassName("total-count");
-            footerRow = grid.appendFooterRow();
-        } else {
-            footerRow = footerRows.get(0);
-        }
+        return setTotal(grid, total, TotalCount.CountStrategy.EXACT);
+    }
 
-        VLabel totalCount = new VLabel(UI.getCurrent().getTranslation("totalCount", total)).withClassName("total-count");
-        Grid.Column<T> column = grid.getColumns().get(0).isVisible() ? grid.getColumns().get(0) : grid.getColumns().get(1);
-        footerRow.getCell(column)
-                .setComponent(totalCount);
+    /**
+     * footer component gets created on first call and afterwards only the text gets updated
+     */
+    public static <T> Grid<T> setTotal(Grid<T> grid, long total, TotalCount.CountStrategy strategy) {
+        getTotalCount(grid).setTotal(total, strategy);
         return grid;
     }
 
+    /**
+     * sets a count-free slice backend with undefined-size lazy loading - the footer shows the loaded rows until the last slice arrived
+     */
+    public static <T> GridLazyDataView<T> setSliceItems(Grid<T> grid, PageableDataProvider.FetchSliceApi<T, Void> api) {
+        return setSliceItems(grid, PageableDataProvider.DEFAULT_METRIC_NAME, api);
+    }
+
+    public static <T> GridLazyDataView<T> setSliceItems(Grid<T> grid, String name, PageableDataProvider.FetchSliceApi<T, Void> api) {
+        AtomicLong loaded = new AtomicLong();
+        return grid.setItems(PageableDataProvider.fetchSlice(name, api, slice -> {
+            long offset = slice.getPageable().isPaged() ? slice.getPageable().getOffset() : 0;
+            long total = offset + slice.getNumberOfElements();
+            // first slice means refresh or changed sort - start counting again
+            loaded.set(offset == 0 ? total : Math.max(loaded.get(), total));
+            setTotal(grid, loaded.get(), slice.hasNext() ? TotalCount.CountStrategy.LOADED : TotalCount.CountStrategy.EXACT);
+        }));
+    }
+
+    /**
+     * footer aggregate of an in-memory grid - gets updated by {@link GridFilterUtil} on each filter change
+     */
+    public static <T> Grid.Column<T> addAggregate(Grid.Column<T> column, ValueProvider<T, ? extends Number> valueProvider, GridAggregates.Aggregate aggregate) {
+        GridAggregates.of(column.getGrid()).add(column, valueProvider, aggregate);
+        return column;
+    }
+
+    public static <T> TotalCount getTotalCount(Grid<T> grid) {
+        TotalCount totalCount = ComponentUtil.getData(grid, TotalCount.class);
+        if (totalCount == null) {
+            // the footer row of the aggregates stays theirs
+            GridAggregates<T> aggregates = GridAggregates.find(grid);
+            FooterRow aggregateRow = aggregates != null ? aggregates.getFooterRow() : null;
+            Optional<FooterRow> existing = grid.getFooterRows().stream()
+                    .filter(r -> r != aggregateRow)
+                    .findFirst();
+            FooterRow footerRow;
+            if (existing.isEmpty()) {
+                grid.addClassName("total-count");
+                footerRow = grid.appendFooterRow();
+            } else {
+                footerRow = existing.get();
+            }
+
+            totalCount = new TotalCount();
+            Grid.Column<T> column = grid.getColumns().get(0).isVisible() ? grid.getColumns().get(0) : grid.getColumns().get(1);
+            footerRow.getCell(column)
+                    .setComponent(totalCount);
+            ComponentUtil.setData(grid, TotalCount.class, totalCount);
+        }
+        return totalCount;
+    }
+
     public static <T> Grid.Column<T> configureIconColumn(Grid.Column<T> column) {
         Integer size = column.getGrid().hasThemeName(GridVariant.LUMO_COMPACT.getVariantName()) ? 52 : 70;
         if (column.getGrid().hasThemeName(GridVariant.LUMO_COLUMN_BORDERS.getVariantName())) {
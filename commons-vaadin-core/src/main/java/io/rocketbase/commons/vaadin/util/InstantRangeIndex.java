@@ -0,0 +1,76 @@
+package io.rocketbase.commons.vaadin.util;
+
+import com.vaadin.flow.function.ValueProvider;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * epoch millis of an instant value sorted once per item set - range queries are two binary searches<br>
+ * items without value never match a range
+ */
+public class InstantRangeIndex<T> implements Serializable {
+
+    private final ValueProvider<T, Instant> valueProvider;
+
+    private long[] millis = new long[0];
+    private Object[] items = new Object[0];
+
+    public InstantRangeIndex(ValueProvider<T, Instant> valueProvider) {
+        this.valueProvider = valueProvider;
+    }
+
+    public synchronized void rebuild(Collection<T> values) {
+        List<Map.Entry<Long, T>> entries = new ArrayList<>(values.size());
+        for (T item : values) {
+            Instant instant = valueProvider.apply(item);
+            if (instant != null) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(instant.toEpochMilli(), item));
+            }
+        }
+        entries.sort(Map.Entry.comparingByKey());
+        long[] sortedMillis = new long[entries.size()];
+        Object[] sortedItems = new Object[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            sortedMillis[i] = entries.get(i).getKey();
+            sortedItems[i] = entries.get(i).getValue();
+        }
+        millis = sortedMillis;
+        items = sortedItems;
+    }
+
+    /**
+     * items within [from, to) - compared by identity
+     *
+     * @param from inclusive - null for open start
+     * @param to   exclusive - null for open end
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized Set<T> range(@Nullable Instant from, @Nullable Instant to) {
+        int start = from != null ? lowerBound(from.toEpochMilli()) : 0;
+        int end = to != null ? lowerBound(to.toEpochMilli()) : millis.length;
+        Set<T> result = Collections.newSetFromMap(new IdentityHashMap<>(Math.max(end - start, 0) * 2));
+        for (int i = start; i < end; i++) {
+            result.add((T) items[i]);
+        }
+        return result;
+    }
+
+    /**
+     * first position with a value &gt;= the given millis
+     */
+    private int lowerBound(long value) {
+        int low = 0, high = millis.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (millis[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
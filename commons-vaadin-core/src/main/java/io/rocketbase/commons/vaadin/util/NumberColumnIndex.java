@@ -0,0 +1,83 @@
+package io.rocketbase.commons.vaadin.util;
+
+import com.vaadin.flow.function.ValueProvider;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * columnar snapshot of a numeric value - primitive doubles plus a null bitmap extracted once per item set<br>
+ * comparisons run as primitive loops, only the matching items get materialized
+ */
+public class NumberColumnIndex<T> implements Serializable {
+
+    private final ValueProvider<T, ? extends Number> valueProvider;
+
+    private double[] values = new double[0];
+    private BitSet nulls = new BitSet();
+    private Object[] items = new Object[0];
+
+    public NumberColumnIndex(ValueProvider<T, ? extends Number> valueProvider) {
+        this.valueProvider = valueProvider;
+    }
+
+    public synchronized void rebuild(Collection<T> source) {
+        Object[] snapshot = source.toArray();
+        double[] extracted = new double[snapshot.length];
+        BitSet nullBits = new BitSet(snapshot.length);
+        for (int i = 0; i < snapshot.length; i++) {
+            @SuppressWarnings("unchecked")
+            Number value = valueProvider.apply((T) snapshot[i]);
+            if (value == null) {
+                nullBits.set(i);
+            } else {
+                extracted[i] = value.doubleValue();
+            }
+        }
+        items = snapshot;
+        values = extracted;
+        nulls = nullBits;
+    }
+
+    /**
+     * items whose value matches the comparison - compared by identity, null values never match
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized Set<T> matching(GridFilterUtil.NumberEquals comparison, double value) {
+        BitSet matches = new BitSet(values.length);
+        double[] current = values;
+        // one loop per comparison so that the comparison isn't evaluated per row
+        switch (comparison) {
+            case GTE:
+                for (int i = 0; i < current.length; i++) {
+                    if (current[i] >= value) {
+                        matches.set(i);
+                    }
+                }
+                break;
+            case LTE:
+                for (int i = 0; i < current.length; i++) {
+                    if (current[i] <= value) {
+                        matches.set(i);
+                    }
+                }
+                break;
+            default:
+                for (int i = 0; i < current.length; i++) {
+                    if (current[i] == value) {
+                        matches.set(i);
+                    }
+                }
+        }
+        matches.andNot(nulls);
+        Set<T> result = Collections.newSetFromMap(new IdentityHashMap<>(matches.cardinality() * 2));
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            result.add((T) items[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,189 @@
+package io.rocketbase.commons.vaadin.util;
+
+import com.vaadin.flow.function.ValueProvider;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * inverted trigram index over the text values of in-memory items<br>
+ * substring searches intersect the posting lists of the trigrams of the term and only verify the remaining candidates.
+ * terms shorter than three chars scan the prepared lower case texts. changes get applied incrementally - removed items
+ * are tombstoned and the index gets compacted once half of the slots are dead.
+ */
+public class TrigramIndex<T> implements Serializable {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final List<ValueProvider<T, String>> valueProviders;
+
+    private final List<T> items = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final BitSet removed = new BitSet();
+    private final Map<T, Integer> slots = new IdentityHashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    public TrigramIndex(List<ValueProvider<T, String>> valueProviders) {
+        this.valueProviders = new ArrayList<>(valueProviders);
+    }
+
+    public synchronized void rebuild(Collection<T> values) {
+        items.clear();
+        texts.clear();
+        removed.clear();
+        slots.clear();
+        postings.clear();
+        values.forEach(this::add);
+    }
+
+    public synchronized void add(T item) {
+        if (slots.containsKey(item)) {
+            return;
+        }
+        int slot = items.size();
+        String text = extractText(item);
+        items.add(item);
+        texts.add(text);
+        slots.put(item, slot);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            long trigram = trigram(text, i);
+            if (trigram >= 0 && seen.add(trigram)) {
+                postings.computeIfAbsent(trigram, k -> new Postings()).add(slot);
+            }
+        }
+    }
+
+    public synchronized void remove(T item) {
+        Integer slot = slots.remove(item);
+        if (slot == null) {
+            return;
+        }
+        removed.set(slot);
+        items.set(slot, null);
+        texts.set(slot, null);
+        if (removed.cardinality() > items.size() / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * needs to get called after the text values of an item changed
+     */
+    public synchronized void update(T item) {
+        remove(item);
+        add(item);
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /**
+     * all items whose text values contain the term (case insensitive) - compared by identity
+     */
+    public synchronized Set<T> search(String term) {
+        String lowered = term.toLowerCase();
+        Set<T> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (lowered.length() < 3) {
+            for (int slot = 0; slot < texts.size(); slot++) {
+                String text = texts.get(slot);
+                if (text != null && text.contains(lowered)) {
+                    result.add(items.get(slot));
+                }
+            }
+            return result;
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= lowered.length(); i++) {
+            Postings list = postings.get(trigram(lowered, i));
+            if (list == null) {
+                return result;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+        int[] candidates = Arrays.copyOf(lists.get(0).values, lists.get(0).size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = intersect(candidates, count, lists.get(i));
+        }
+        for (int i = 0; i < count; i++) {
+            int slot = candidates[i];
+            String text = texts.get(slot);
+            // trigrams may match in different order or across values - verify the candidate
+            if (text != null && text.contains(lowered)) {
+                result.add(items.get(slot));
+            }
+        }
+        return result;
+    }
+
+    protected String extractText(T item) {
+        StringBuilder text = new StringBuilder();
+        for (ValueProvider<T, String> provider : valueProviders) {
+            String value = provider.apply(item);
+            if (value != null) {
+                text.append(value.toLowerCase()).append(SEPARATOR);
+            }
+        }
+        return text.toString();
+    }
+
+    private void compact() {
+        List<T> alive = new ArrayList<>(slots.size());
+        for (T item : items) {
+            if (item != null) {
+                alive.add(item);
+            }
+        }
+        rebuild(alive);
+    }
+
+    /**
+     * packs three chars into a long - trigrams spanning the separator between two values return -1
+     */
+    private static long trigram(String text, int offset) {
+        char a = text.charAt(offset), b = text.charAt(offset + 1), c = text.charAt(offset + 2);
+        if (a == SEPARATOR || b == SEPARATOR || c == SEPARATOR) {
+            return -1;
+        }
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    /**
+     * keeps the candidates (sorted ascending) that are contained in the postings - returns the new count
+     */
+    private static int intersect(int[] candidates, int count, Postings postings) {
+        int result = 0, j = 0;
+        for (int i = 0; i < count && j < postings.size; i++) {
+            int value = candidates[i];
+            while (j < postings.size && postings.values[j] < value) {
+                j++;
+            }
+            if (j < postings.size && postings.values[j] == value) {
+                candidates[result++] = value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ascending slots of the items containing a trigram - slots only grow so appending keeps the order
+     */
+    private static class Postings implements Serializable {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}